@@ -0,0 +1,295 @@
+/*
+ * Lilac, a Java TOML lanugage library
+ * Copyright (C) 2026 Hailey-Jane "Khyonie" Garrett
+ */
+package coffee.khyonieheart.lilac;
+
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.MalformedInputException;
+import java.nio.charset.StandardCharsets;
+import java.util.Objects;
+
+/**
+ * A document read directly from a buffer of UTF-8 bytes, such as a memory-mapped file, without decoding it into a String.
+ *
+ * Positions are counted in characters, as with {@link Document}, so syntax errors report the same lines and positions as for a String.
+ * Characters before the first non-ASCII byte are read straight from the buffer. After it, a cursor tracks the byte position of the pointer,
+ * and multi-byte sequences are only decoded when read. Since TOML syntax is ASCII, this only happens within strings, quoted keys and comments.
+ *
+ * Malformed UTF-8 is thrown as an {@link UncheckedIOException} wrapping a {@link MalformedInputException}.
+ */
+public class ByteBufferDocument extends Document
+{
+	private final ByteBuffer buffer;
+	private final int length; // Number of bytes in the buffer
+	private final int size; // Number of bytes, including the extra newline
+	private final int asciiLength; // Number of leading ASCII bytes, read without the cursor
+
+	// Cursor, kept at the most recently read position past the leading ASCII bytes
+	private int cursorCharacter;
+	private int cursorByte;
+	private boolean cursorLowSurrogate = false; // Set when the cursor is on the second character of a 4-byte sequence
+
+	private String text = null; // Decoded when needed for syntax errors
+	private int characterLength = -1;
+
+	private static final byte NEWLINE = '\n';
+
+	/**
+	 * Creates a document from the remaining bytes of the given buffer. The buffer's position is not changed.
+	 *
+	 * @param buffer UTF-8 bytes
+	 */
+	public ByteBufferDocument(
+		ByteBuffer buffer
+	) {
+		this.buffer = Objects.requireNonNull(buffer).slice();
+		this.length = this.buffer.remaining();
+
+		// Same as documents held in memory
+		this.size = (length > 0 && this.buffer.get(length - 1) == NEWLINE) ? length + 1 : length;
+
+		int ascii = 0;
+		while (ascii < length && this.buffer.get(ascii) >= 0)
+		{
+			ascii++;
+		}
+
+		this.asciiLength = ascii;
+		this.cursorCharacter = ascii;
+		this.cursorByte = ascii;
+	}
+
+	@Override
+	public String getDocument()
+	{
+		if (text == null)
+		{
+			String decoded = StandardCharsets.UTF_8.decode(buffer.duplicate()).toString();
+			text = (size > length) ? decoded + '\n' : decoded;
+		}
+
+		return text;
+	}
+
+	@Override
+	public char getCharAtPointer()
+	{
+		int pointer = this.getPointer();
+		if (pointer < asciiLength)
+		{
+			return (char) buffer.get(pointer);
+		}
+
+		if (!this.seek(pointer))
+		{
+			throw new StringIndexOutOfBoundsException("Index " + pointer + " out of bounds for length " + this.getDocumentLength());
+		}
+
+		if (cursorByte >= length)
+		{
+			return '\n';
+		}
+
+		byte current = buffer.get(cursorByte);
+		if (current >= 0)
+		{
+			return (char) current;
+		}
+
+		int codepoint = this.decodeAt(cursorByte);
+		if (Character.isBmpCodePoint(codepoint))
+		{
+			return (char) codepoint;
+		}
+
+		return cursorLowSurrogate ? Character.lowSurrogate(codepoint) : Character.highSurrogate(codepoint);
+	}
+
+	@Override
+	public char getCharAndIncrement()
+	{
+		char current = this.getCharAtPointer();
+		this.incrementPointer();
+
+		return current;
+	}
+
+	@Override
+	public int getDocumentLength()
+	{
+		if (characterLength == -1)
+		{
+			int characters = asciiLength;
+			int position = asciiLength;
+			while (position < size)
+			{
+				byte current = this.byteAt(position);
+				if (current >= 0)
+				{
+					position++;
+					characters++;
+					continue;
+				}
+
+				int sequenceLength = sequenceLength(current);
+				position += sequenceLength;
+				characters += (sequenceLength == 4) ? 2 : 1;
+			}
+
+			characterLength = characters;
+		}
+
+		return characterLength;
+	}
+
+	@Override
+	public boolean hasNext()
+	{
+		int pointer = this.getPointer();
+		if (pointer < asciiLength)
+		{
+			return true;
+		}
+
+		return this.seek(pointer);
+	}
+
+	/**
+	 * Moves the cursor to the given character position, which must not be within the leading ASCII bytes.
+	 *
+	 * @return Whether or not the position is within the document.
+	 */
+	private boolean seek(
+		int pointer
+	) {
+		while (cursorCharacter < pointer)
+		{
+			if (cursorByte >= size)
+			{
+				return false;
+			}
+
+			byte current = this.byteAt(cursorByte);
+			if (current >= 0)
+			{
+				cursorByte++;
+				cursorCharacter++;
+				continue;
+			}
+
+			int codepoint = this.decodeAt(cursorByte);
+			if (!Character.isBmpCodePoint(codepoint) && !cursorLowSurrogate)
+			{
+				cursorLowSurrogate = true;
+				cursorCharacter++;
+				continue;
+			}
+
+			cursorLowSurrogate = false;
+			cursorByte += sequenceLength(current);
+			cursorCharacter++;
+		}
+
+		while (cursorCharacter > pointer)
+		{
+			if (cursorLowSurrogate)
+			{
+				cursorLowSurrogate = false;
+				cursorCharacter--;
+				continue;
+			}
+
+			// Step back to the start of the previous sequence
+			do {
+				cursorByte--;
+			} while ((this.byteAt(cursorByte) & 0xC0) == 0x80);
+
+			cursorLowSurrogate = (this.byteAt(cursorByte) & 0xF8) == 0xF0;
+			cursorCharacter--;
+		}
+
+		return cursorByte < size;
+	}
+
+	private byte byteAt(
+		int position
+	) {
+		return position < length ? buffer.get(position) : NEWLINE;
+	}
+
+	/**
+	 * Decodes the multi-byte sequence starting at the given byte position.
+	 */
+	private int decodeAt(
+		int position
+	) {
+		int lead = buffer.get(position) & 0xFF;
+
+		if (lead >= 0xC2 && lead <= 0xDF)
+		{
+			return ((lead & 0x1F) << 6) | this.continuationAt(position + 1, 2);
+		}
+
+		if (lead >= 0xE0 && lead <= 0xEF)
+		{
+			int codepoint = ((lead & 0x0F) << 12) | (this.continuationAt(position + 1, 3) << 6) | this.continuationAt(position + 2, 3);
+			if (codepoint < 0x800 || Character.isSurrogate((char) codepoint))
+			{
+				throw malformed(3);
+			}
+
+			return codepoint;
+		}
+
+		if (lead >= 0xF0 && lead <= 0xF4)
+		{
+			int codepoint = ((lead & 0x07) << 18) | (this.continuationAt(position + 1, 4) << 12) | (this.continuationAt(position + 2, 4) << 6) | this.continuationAt(position + 3, 4);
+			if (codepoint < 0x10000 || codepoint > Character.MAX_CODE_POINT)
+			{
+				throw malformed(4);
+			}
+
+			return codepoint;
+		}
+
+		throw malformed(1);
+	}
+
+	private int continuationAt(
+		int position,
+		int sequenceLength
+	) {
+		if (position >= length)
+		{
+			throw malformed(sequenceLength);
+		}
+
+		byte current = buffer.get(position);
+		if ((current & 0xC0) != 0x80)
+		{
+			throw malformed(sequenceLength);
+		}
+
+		return current & 0x3F;
+	}
+
+	private static int sequenceLength(
+		byte lead
+	) {
+		int value = lead & 0xFF;
+		if (value < 0xC2 || value > 0xF4)
+		{
+			throw malformed(1);
+		}
+
+		return value < 0xE0 ? 2 : (value < 0xF0 ? 3 : 4);
+	}
+
+	private static UncheckedIOException malformed(
+		int sequenceLength
+	) {
+		return new UncheckedIOException(new MalformedInputException(sequenceLength));
+	}
+}
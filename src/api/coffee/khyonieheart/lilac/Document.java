@@ -4,11 +4,12 @@
  */ 
 package coffee.khyonieheart.lilac;
 
-import java.util.ArrayDeque;
+import java.util.Arrays;
 import java.util.Deque;
 import java.util.Objects;
 
 import coffee.khyonieheart.lilac.symbol.Symbol;
+import coffee.khyonieheart.lilac.symbol.SymbolFactory;
 import coffee.khyonieheart.lilac.symbol.TomlNewline;
 
 /**
@@ -19,7 +20,10 @@ public class Document
 {
 	private String document;
 	private int pointer = 0;
-	private Deque<Integer> pins = new ArrayDeque<>();
+	private int[] pins = new int[INITIAL_PIN_CAPACITY];
+	private int pinCount = 0;
+
+	private static final int INITIAL_PIN_CAPACITY = 16;
 
 	// Character constants
 	private static final Character SPACE = ' ';
@@ -36,11 +40,52 @@ public class Document
 		}
 	}
 
+	/**
+	 * Creates a document whose text is supplied by a subclass.
+	 */
+	protected Document() {}
+
+	/**
+	 * Gets the text of this document. Documents which are read from a stream only hold text which may still be needed,
+	 * starting at {@link #getOffset()}.
+	 *
+	 * @return The text held by this document.
+	 */
 	public String getDocument()
 	{
 		return this.document;
 	}
 
+	/**
+	 * Gets the position of the first character held by this document, see {@link #getDocument()}.
+	 *
+	 * @return The position of the first character held.
+	 */
+	public int getOffset()
+	{
+		return 0;
+	}
+
+	/**
+	 * Gets the line number of the first character held by this document, starting from 1.
+	 *
+	 * @return The line number of the first character held.
+	 */
+	public int getFirstLine()
+	{
+		return 1;
+	}
+
+	/**
+	 * Allows text before the given position to be discarded once it is no longer needed to rewind to a pin.
+	 * Documents held entirely in memory ignore this.
+	 *
+	 * @param position Earliest position which may still be needed
+	 */
+	public void release(
+		int position
+	) {}
+
 	/**
 	 * Returns the current pointer position.
 	 * 
@@ -93,24 +138,34 @@ public class Document
 	 */
 	public Document pinPointer()
 	{
-		this.pins.push(pointer);
+		if (pinCount == pins.length)
+		{
+			pins = Arrays.copyOf(pins, pins.length * 2);
+		}
+
+		pins[pinCount++] = pointer;
 
 		return this;
 	}
 
 	public int getPin()
 	{
-		return this.pins.peek();
+		if (pinCount == 0)
+		{
+			throw new IllegalStateException("No pin positions are available");
+		}
+
+		return this.pins[pinCount - 1];
 	}
 
 	public void rewindToPin()
 	{
-		if (pins.isEmpty())
+		if (pinCount == 0)
 		{
 			throw new IllegalStateException("No pin positions are available");
 		}
 
-		pointer = this.pins.pop();
+		pointer = this.pins[--pinCount];
 	}
 
 	/**
@@ -120,12 +175,54 @@ public class Document
 	 */
 	public int removePin()
 	{
-		if (pins.isEmpty())
+		if (pinCount == 0)
 		{
 			throw new IllegalStateException("No pin positions are available");
 		}
 
-		return this.pins.pop();
+		return this.pins[--pinCount];
+	}
+
+	/**
+	 * Gets the number of pins which have not been removed.
+	 *
+	 * @return The number of pins.
+	 */
+	public int getPinCount()
+	{
+		return this.pinCount;
+	}
+
+	/**
+	 * Removes the most recent pins until only the given number remain, without setting the pointer position.
+	 *
+	 * @param pinCount Number of pins to keep
+	 */
+	public void removePinsTo(
+		int pinCount
+	) {
+		if (pinCount < 0 || pinCount > this.pinCount)
+		{
+			throw new IllegalArgumentException("Cannot keep " + pinCount + " of " + this.pinCount + " pins");
+		}
+
+		this.pinCount = pinCount;
+	}
+
+	/**
+	 * Gets the earliest position this document may be rewound to, which is the pointer position or the earliest pin.
+	 *
+	 * @return The earliest position which may be read again.
+	 */
+	protected int getEarliestPosition()
+	{
+		int earliest = pointer;
+		for (int i = 0; i < pinCount; i++)
+		{
+			earliest = Math.min(earliest, pins[i]);
+		}
+
+		return earliest;
 	}
 
 	public char getCharAtPointer()
@@ -161,12 +258,13 @@ public class Document
 
 		while (this.hasNext())
 		{
-			if (Symbol.getSymbol(TomlNewline.class).tryParse(this, decoder, symbols))
+			char current = this.getCharAtPointer();
+			if (current == '\n' && SymbolFactory.create(TomlNewline.class).tryParse(this, decoder, symbols))
 			{
 				continue;
 			}
 
-			if (!Character.isWhitespace(this.getCharAtPointer()))
+			if (!Character.isWhitespace(current))
 			{
 				return false;
 			}
@@ -195,4 +293,55 @@ public class Document
 
 		return true;
 	}
+
+	/**
+	 * Appends a run of characters in a string which need no special handling, and moves the pointer past them.
+	 * The run ends before the string's quote, a backslash, a control character other than tab or the end of the document, so that those may be read one at a time.
+	 *
+	 * @param builder Builder to append the run to
+	 * @param quote Quote which ends the string
+	 * @param allowNewlines Whether or not newlines are part of the run, for multi-line strings
+	 */
+	public void appendStringRun(
+		StringBuilder builder,
+		char quote,
+		boolean allowNewlines
+	) {
+		// Text supplied by a subclass
+		if (this.document == null)
+		{
+			while (this.hasNext() && !isStringBoundary(this.getCharAtPointer(), quote, allowNewlines))
+			{
+				builder.append(this.getCharAndIncrement());
+			}
+
+			return;
+		}
+
+		int end = pointer;
+		int length = document.length();
+		while (end < length && !isStringBoundary(document.charAt(end), quote, allowNewlines))
+		{
+			end++;
+		}
+
+		builder.append(document, pointer, end);
+		pointer = end;
+	}
+
+	/**
+	 * Gets whether or not a character ends a run of plain characters in a string, see {@link #appendStringRun(StringBuilder, char, boolean)}.
+	 */
+	protected static boolean isStringBoundary(
+		char character,
+		char quote,
+		boolean allowNewlines
+	) {
+		if (character < ' ')
+		{
+			return character != '\t' && (character != '\n' || !allowNewlines);
+		}
+
+		return character == quote || character == '\\' || character == '\u007F';
+	}
 }
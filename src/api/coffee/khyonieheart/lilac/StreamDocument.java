@@ -0,0 +1,241 @@
+/*
+ * Lilac, a Java TOML lanugage library
+ * Copyright (C) 2026 Hailey-Jane "Khyonie" Garrett
+ */
+package coffee.khyonieheart.lilac;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * A document read from a character stream in chunks, as the pointer reaches the end of the text read so far.
+ * Text before the earliest pin, the pointer, and the most recently released position is discarded when the buffer is refilled,
+ * apart from a few lines kept to show context in syntax errors.
+ *
+ * Positions are counted from the start of the stream, as with {@link Document}.
+ * Errors while reading the stream are thrown as {@link UncheckedIOException}s.
+ */
+public class StreamDocument extends Document
+{
+	private final Reader reader;
+	private char[] buffer;
+	private int offset = 0; // Position of the first character in the buffer
+	private int length = 0; // Number of characters in the buffer
+	private int firstLine = 1;
+	private int released = 0;
+	private char lastCharacter = '\0';
+	private boolean endOfStream = false;
+
+	private static final int DEFAULT_CHUNK_SIZE = 8192;
+	private static final int CONTEXT_LINES = 5;
+
+	public StreamDocument(
+		Reader reader
+	) {
+		this(reader, DEFAULT_CHUNK_SIZE);
+	}
+
+	/**
+	 * Creates a document read from the given stream.
+	 *
+	 * @param reader Stream to read from. Not closed by this document.
+	 * @param chunkSize Initial size of the buffer, which grows if a single symbol spans more than the whole buffer.
+	 */
+	public StreamDocument(
+		Reader reader,
+		int chunkSize
+	) {
+		this.reader = Objects.requireNonNull(reader);
+
+		if (chunkSize <= 0)
+		{
+			throw new IllegalArgumentException("Chunk size must be positive");
+		}
+
+		this.buffer = new char[chunkSize];
+	}
+
+	/**
+	 * Gets the text held by this document, reading a few lines past the pointer for context.
+	 */
+	@Override
+	public String getDocument()
+	{
+		int position = Math.max(this.getPointer(), offset);
+		int lines = 0;
+		while (lines <= CONTEXT_LINES && this.isAvailable(position))
+		{
+			if (buffer[position++ - offset] == '\n')
+			{
+				lines++;
+			}
+		}
+
+		return new String(buffer, 0, length);
+	}
+
+	@Override
+	public int getOffset()
+	{
+		return this.offset;
+	}
+
+	@Override
+	public int getFirstLine()
+	{
+		return this.firstLine;
+	}
+
+	@Override
+	public void release(
+		int position
+	) {
+		this.released = Math.max(this.released, position);
+	}
+
+	@Override
+	public char getCharAtPointer()
+	{
+		int pointer = this.getPointer();
+		if (!this.isAvailable(pointer))
+		{
+			throw new StringIndexOutOfBoundsException("Index " + pointer + " out of bounds for length " + (offset + length));
+		}
+
+		return buffer[pointer - offset];
+	}
+
+	@Override
+	public char getCharAndIncrement()
+	{
+		char current = this.getCharAtPointer();
+		this.incrementPointer();
+
+		return current;
+	}
+
+	/**
+	 * Gets the length of this document. Reads the rest of the stream, so this should be avoided while lexing.
+	 */
+	@Override
+	public int getDocumentLength()
+	{
+		while (!endOfStream)
+		{
+			this.fill();
+		}
+
+		return offset + length;
+	}
+
+	@Override
+	public boolean hasNext()
+	{
+		return this.isAvailable(this.getPointer());
+	}
+
+	/**
+	 * Gets the size of the buffer, which stays near the chunk size unless a single symbol is longer than the buffer.
+	 */
+	int getBufferSize()
+	{
+		return this.buffer.length;
+	}
+
+	/**
+	 * Reads from the stream until the given position is in the buffer, or the stream ends.
+	 */
+	private boolean isAvailable(
+		int position
+	) {
+		if (position < offset)
+		{
+			throw new IllegalStateException("Position " + position + " has already been discarded");
+		}
+
+		while (position >= offset + length)
+		{
+			if (endOfStream)
+			{
+				return false;
+			}
+
+			this.fill();
+		}
+
+		return true;
+	}
+
+	private void fill()
+	{
+		this.discard();
+
+		if (length == buffer.length)
+		{
+			buffer = Arrays.copyOf(buffer, buffer.length * 2);
+		}
+
+		int read;
+		try {
+			read = reader.read(buffer, length, buffer.length - length);
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+
+		if (read == -1)
+		{
+			endOfStream = true;
+
+			// Same as documents held in memory
+			if (lastCharacter == '\n')
+			{
+				buffer[length++] = '\n';
+			}
+			return;
+		}
+
+		if (read > 0)
+		{
+			length += read;
+			lastCharacter = buffer[length - 1];
+		}
+	}
+
+	/**
+	 * Discards text which can no longer be read, keeping a few lines before it for context.
+	 */
+	private void discard()
+	{
+		int keep = Math.min(released, this.getEarliestPosition()) - offset;
+		if (keep <= 0)
+		{
+			return;
+		}
+
+		// Keep previous lines
+		int lines = 0;
+		while (keep > 0)
+		{
+			if (buffer[keep - 1] == '\n' && ++lines > CONTEXT_LINES)
+			{
+				break;
+			}
+			keep--;
+		}
+
+		for (int i = 0; i < keep; i++)
+		{
+			if (buffer[i] == '\n')
+			{
+				firstLine++;
+			}
+		}
+
+		System.arraycopy(buffer, keep, buffer, 0, length - keep);
+		offset += keep;
+		length -= keep;
+	}
+}
@@ -0,0 +1,17 @@
+/*
+ * Lilac, a Java TOML lanugage library
+ * Copyright (C) 2026 Hailey-Jane "Khyonie" Garrett
+ */
+package coffee.khyonieheart.lilac;
+
+/**
+ * Which cached lookups a bounded {@link TomlConfiguration} discards first once its cache is full.
+ */
+public enum TomlCacheEviction
+{
+	/** Discards the lookups which were read least recently. */
+	LEAST_RECENTLY_USED,
+	/** Discards the lookups which were read least often. Counts are halved on each eviction, so old lookups do not stay forever. */
+	LEAST_FREQUENTLY_USED,
+	;
+}
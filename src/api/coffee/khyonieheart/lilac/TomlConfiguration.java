@@ -8,17 +8,23 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.time.OffsetDateTime;
+import java.util.Arrays;
 import java.util.Collections;
-import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
  * Convenience type which takes a loaded TOML map and allows for values to be referenced using TOML keys.
  *
- * All key lookups are cached for performance.
+ * All key lookups are cached for performance. The cache is safe to read from many threads at once without locking, and may be bounded,
+ * in which case lookups are evicted in batches once it grows past its maximum size. Cached values are not updated if the underlying map
+ * changes. Keys which are read often can be compiled once with {@link TomlKey#compile(String)}, which skips parsing the key on each read.
  *
  * This type distinguishes between two types of "get" methods: exception-throwing, and null-returning. 
  * Exception-throwing methods will throw an exception if any part of a key cannot be resolved.
@@ -29,44 +35,165 @@ import java.util.Objects;
 public class TomlConfiguration
 {
 	private final Map<String, Object> data;
-	private Map<String, Object> cache = new HashMap<>();
+	private final Map<TomlKey, CacheEntry> cache = new ConcurrentHashMap<>();
+	private final int maximumCacheSize; // Unbounded if eviction is null
+	private final TomlCacheEviction eviction;
+	private final AtomicBoolean evicting = new AtomicBoolean();
 
+	private final LongAdder hits = new LongAdder();
+	private final LongAdder misses = new LongAdder();
+	private final LongAdder evictions = new LongAdder();
+
+	/**
+	 * Creates a configuration with an unbounded cache.
+	 *
+	 * @param data Loaded TOML map
+	 */
 	public TomlConfiguration(
 		Map<String, Object> data
 	) {
 		this.data = Objects.requireNonNull(data);
+		this.maximumCacheSize = Integer.MAX_VALUE;
+		this.eviction = null;
+	}
+
+	/**
+	 * Creates a configuration with a bounded cache. Once the cache holds more than the given number of lookups, about a quarter of them
+	 * are evicted at once, chosen by the given policy. The cache may briefly grow past its maximum size while one thread is
+	 * evicting and others are caching lookups, and is brought back within it before eviction stops.
+	 *
+	 * @param data Loaded TOML map
+	 * @param maximumCacheSize Maximum number of cached lookups
+	 * @param eviction Which lookups to evict first
+	 *
+	 * @throws IllegalArgumentException Thrown if the maximum size is not positive.
+	 */
+	public TomlConfiguration(
+		Map<String, Object> data,
+		int maximumCacheSize,
+		TomlCacheEviction eviction
+	) {
+		if (maximumCacheSize <= 0)
+		{
+			throw new IllegalArgumentException("Maximum cache size must be positive");
+		}
+
+		this.data = Objects.requireNonNull(data);
+		this.maximumCacheSize = maximumCacheSize;
+		this.eviction = Objects.requireNonNull(eviction);
+	}
+
+	/**
+	 * Creates an immutable copy of this configuration, for configurations which are never changed after loading. The copy holds its tables
+	 * and arrays in a compact form, which uses much less memory than the maps and lists built by a decoder: tables keep their entries in
+	 * insertion-ordered arrays, keys are interned, and arrays of only integers or only floats are held as primitive arrays. Tables and arrays
+	 * read from the copy are returned without being wrapped.
+	 *
+	 * Table and array types are not kept, so inline tables and arrays of tables are encoded as regular tables and arrays.
+	 *
+	 * The copy has the same cache settings as this configuration, with an empty cache. Freezing an already frozen configuration returns it.
+	 *
+	 * @return An immutable configuration.
+	 */
+	public TomlConfiguration freeze()
+	{
+		if (data instanceof TomlFrozen.Table)
+		{
+			return this;
+		}
+
+		Map<String, Object> frozen = TomlFrozen.freezeTable(data);
+		if (eviction == null)
+		{
+			return new TomlConfiguration(frozen);
+		}
+
+		return new TomlConfiguration(frozen, maximumCacheSize, eviction);
+	}
+
+	/**
+	 * Gets the number of lookups which were answered from the cache.
+	 */
+	public long getCacheHits()
+	{
+		return hits.sum();
+	}
+
+	/**
+	 * Gets the number of lookups which were not cached, and had to be resolved from the underlying map.
+	 */
+	public long getCacheMisses()
+	{
+		return misses.sum();
+	}
+
+	/**
+	 * Gets the number of lookups which have been evicted from a bounded cache.
+	 */
+	public long getCacheEvictions()
+	{
+		return evictions.sum();
+	}
+
+	/**
+	 * Gets the number of lookups currently cached.
+	 */
+	public int getCacheSize()
+	{
+		return cache.size();
+	}
+
+	/**
+	 * Discards all cached lookups, such as after the underlying map has been changed. Counters are not reset.
+	 */
+	public void clearCache()
+	{
+		cache.clear();
 	}
 
-	@SuppressWarnings("unchecked")
 	private Object get(
-		String fullyQualifiedKey,
+		TomlKey key,
 		boolean throwException
 	) {
-		String[] keys = TomlUtilities.fullyQualifiedKeyToArray(fullyQualifiedKey);
-
-		// Rebuild key for cache
-		String sanitizedKey = String.join(".", keys);
+		CacheEntry entry = this.getEntry(key, throwException);
+		return entry == null ? null : entry.value;
+	}
 
-		if (cache.containsKey(sanitizedKey))
+	/**
+	 * Gets the cached lookup of a key, resolving and caching it first if needed.
+	 *
+	 * @return The cached lookup, holding null if the last part of the key cannot be resolved, or null if a table section of the key cannot
+	 * be resolved.
+	 */
+	@SuppressWarnings("unchecked")
+	private CacheEntry getEntry(
+		TomlKey key,
+		boolean throwException
+	) {
+		CacheEntry entry = cache.get(key);
+		if (entry != null)
 		{
-			Object value = cache.get(sanitizedKey);
-			if (value == null && throwException)
+			hits.increment();
+			this.touch(entry);
+
+			if (entry.value == null && throwException)
 			{
-				throw new NoSuchElementException("No such key \"" + fullyQualifiedKey + "\" in TOML configuration");
+				throw new NoSuchElementException("No such key \"" + key + "\" in TOML configuration");
 			}
-			return cache.get(sanitizedKey);
+			return entry;
 		}
+		misses.increment();
 		
 		// Otherwise lookup value iteratively
 		Map<String, Object> targetMap = data;
-		for (int i = 0; i < keys.length - 1; i++)
+		for (int i = 0; i < key.length() - 1; i++)
 		{
-			Object value = targetMap.get(keys[i]);
+			Object value = targetMap.get(key.part(i));
 			if (value == null)
 			{
 				if (throwException)
 				{
-					throw new NoSuchElementException("No such value \"" + keys[i] + "\" of \"" + fullyQualifiedKey + "\" in TOML configuration");
+					throw new NoSuchElementException("No such value \"" + key.part(i) + "\" of \"" + key + "\" in TOML configuration");
 				}
 
 				return null;
@@ -76,7 +203,7 @@ public class TomlConfiguration
 			{
 				if (throwException)
 				{
-					throw new ClassCastException("Value at key \"" + keys[i] + "\" is of type " + value.getClass() + ", not a map");
+					throw new ClassCastException("Value at key \"" + key.part(i) + "\" is of type " + value.getClass() + ", not a map");
 				}
 
 				return null;
@@ -85,14 +212,19 @@ public class TomlConfiguration
 			targetMap = (Map<String, Object>) value;
 		}
 
-		Object value = targetMap.get(keys[keys.length - 1]);
+		Object value = targetMap.get(key.part(key.length() - 1));
 
 		if (value == null && throwException)
 		{
-			throw new NoSuchElementException("No such value \"" + keys[keys.length - 1] + "\" of \"" + fullyQualifiedKey + "\" in TOML configuration");
+			throw new NoSuchElementException("No such value \"" + key.part(key.length() - 1) + "\" of \"" + key + "\" in TOML configuration");
 		}
 
 		// Collection values must be read-only
+		if (TomlFrozen.isFrozen(value))
+		{
+			return this.cache(key, value);
+		}
+
 		if (value instanceof Map)
 		{
 			value = Collections.unmodifiableMap((Map<String, Object>) value);
@@ -104,8 +236,106 @@ public class TomlConfiguration
 		}
 
 		// Cache and return
-		cache.put(sanitizedKey, value);
-		return value;
+		return this.cache(key, value);
+	}
+
+	private CacheEntry cache(
+		TomlKey key,
+		Object value
+	) {
+		CacheEntry entry = new CacheEntry(value);
+		this.touch(entry);
+
+		if (cache.putIfAbsent(key, entry) == null && eviction != null && cache.size() > maximumCacheSize)
+		{
+			this.evict();
+		}
+
+		return entry;
+	}
+
+	/**
+	 * Records a read of a cached lookup. Stamps are written without synchronization, so concurrent reads of one lookup may lose an update.
+	 * This only makes eviction slightly less precise.
+	 */
+	private void touch(
+		CacheEntry entry
+	) {
+		if (eviction == null)
+		{
+			return;
+		}
+
+		switch (eviction)
+		{
+			case LEAST_RECENTLY_USED -> entry.stamp = System.nanoTime();
+			case LEAST_FREQUENTLY_USED -> entry.stamp++;
+		}
+	}
+
+	/**
+	 * Evicts lookups until the cache is back within its maximum size. Only one thread evicts at a time, other threads carry on without waiting.
+	 * The size is checked again once eviction stops, so lookups cached by other threads during a pass are not left over the maximum.
+	 */
+	private void evict()
+	{
+		while (cache.size() > maximumCacheSize && evicting.compareAndSet(false, true))
+		{
+			try {
+				this.evictLowestStamps();
+			} finally {
+				evicting.set(false);
+			}
+		}
+	}
+
+	/**
+	 * Evicts the lookups with the lowest stamps until a quarter of the maximum size is free, keeping at least one lookup.
+	 */
+	private void evictLowestStamps()
+	{
+		int keep = Math.max(1, maximumCacheSize - Math.max(1, maximumCacheSize / 4));
+
+		long[] stamps = new long[cache.size()];
+		int count = 0;
+		for (CacheEntry entry : cache.values())
+		{
+			if (count == stamps.length)
+			{
+				break;
+			}
+			stamps[count++] = entry.stamp;
+		}
+
+		int remove = count - keep;
+		if (remove <= 0)
+		{
+			return;
+		}
+
+		Arrays.sort(stamps, 0, count);
+		long threshold = stamps[remove - 1];
+
+		int removed = 0;
+		Iterator<CacheEntry> iterator = cache.values().iterator();
+		while (iterator.hasNext())
+		{
+			CacheEntry entry = iterator.next();
+			if (removed < remove && entry.stamp <= threshold)
+			{
+				iterator.remove();
+				removed++;
+				continue;
+			}
+
+			// Age counts so that lookups which were only read often long ago can be evicted
+			if (eviction == TomlCacheEviction.LEAST_FREQUENTLY_USED)
+			{
+				entry.stamp >>>= 1;
+			}
+		}
+
+		evictions.add(removed);
 	}
 
 	private <T> T getWithCast(
@@ -113,7 +343,15 @@ public class TomlConfiguration
 		boolean throwException,
 		Class<T> type
 	) {
-		Object value = this.get(fullyQualifiedKey, throwException);
+		return this.getWithCast(TomlKey.compile(fullyQualifiedKey), throwException, type);
+	}
+
+	private <T> T getWithCast(
+		TomlKey key,
+		boolean throwException,
+		Class<T> type
+	) {
+		Object value = this.get(key, throwException);
 		if (value == null)
 		{
 			return null;
@@ -121,12 +359,34 @@ public class TomlConfiguration
 
 		if (!type.isAssignableFrom(value.getClass()))
 		{
-			throw new ClassCastException("Value at \"" + fullyQualifiedKey + "\" of type " + value.getClass().getName() + " cannot be cast to " + type.getName());
+			throw new ClassCastException("Value at \"" + key + "\" of type " + value.getClass().getName() + " cannot be cast to " + type.getName());
 		}
 
 		return type.cast(value);
 	}
 
+	private long getPrimitive(
+		TomlKey key,
+		int kind,
+		String typeName
+	) {
+		CacheEntry entry = this.getEntry(key, true);
+		if (entry.kind != kind)
+		{
+			throw wrongPrimitive(key, entry, typeName);
+		}
+
+		return entry.primitive;
+	}
+
+	private static ClassCastException wrongPrimitive(
+		TomlKey key,
+		CacheEntry entry,
+		String typeName
+	) {
+		return new ClassCastException("Value at \"" + key + "\" of type " + entry.value.getClass().getName() + " cannot be read as " + typeName);
+	}
+
 	/**
 	 * Gets a String from this configuration.
 	 *
@@ -141,6 +401,20 @@ public class TomlConfiguration
 		return this.getWithCast(fullyQualifiedKey, false, String.class);
 	}
 
+	/**
+	 * Gets a String from this configuration.
+	 *
+	 * @param key Compiled TOML key
+	 *
+	 * @return A String from this map. May be null if any part of the key cannot be resolved.
+	 * @throws ClassCastException Thrown if value cannot be cast as a String.
+	 */
+	public String getStringOrNull(
+		TomlKey key
+	) {
+		return this.getWithCast(key, false, String.class);
+	}
+
 	/**
 	 * Gets a String from this configuration.
 	 *
@@ -157,33 +431,185 @@ public class TomlConfiguration
 	}
 
 	/**
-	 * Gets an integer from this configuration.
+	 * Gets a String from this configuration.
+	 *
+	 * @param key Compiled TOML key
+	 *
+	 * @return A String from this map.
+	 * @throws NoSuchElementException Thrown if any part of the key cannot be resolved.
+	 * @throws ClassCastException Thrown if value cannot be cast to a String, or if a table section of the key cannot be resolved.
+	 */
+	public String getString(
+		TomlKey key
+	) {
+		return this.getWithCast(key, true, String.class);
+	}
+
+	/**
+	 * Gets an integer from this configuration. The value is read without boxing once the key has been cached.
+	 *
+	 * @param fullyQualifiedKey Fully-qualified TOML key
+	 *
+	 * @return An integer from this map.
+	 * @throws NoSuchElementException Thrown if any part of the key cannot be resolved.
+	 * @throws ClassCastException Thrown if value is not an integer, or if a table section of the key cannot be resolved.
+	 */
+	public long getLong(
+		String fullyQualifiedKey
+	) {
+		return this.getLong(TomlKey.compile(fullyQualifiedKey));
+	}
+
+	/**
+	 * Gets an integer from this configuration. The value is read without boxing once the key has been cached.
+	 *
+	 * @param key Compiled TOML key
+	 *
+	 * @return An integer from this map.
+	 * @throws NoSuchElementException Thrown if any part of the key cannot be resolved.
+	 * @throws ClassCastException Thrown if value is not an integer, or if a table section of the key cannot be resolved.
+	 */
+	public long getLong(
+		TomlKey key
+	) {
+		return this.getPrimitive(key, CacheEntry.INTEGER, "an integer");
+	}
+
+	/**
+	 * Gets an integer from this configuration, which must fit in an int.
 	 *
 	 * @param fullyQualifiedKey Fully-qualified TOML key
 	 *
 	 * @return An integer from this map.
 	 * @throws NoSuchElementException Thrown if any part of the key cannot be resolved.
-	 * @throws ClassCastException Thrown if value cannot be cast to an integer, or if a table section of the key cannot be resolved.
+	 * @throws ClassCastException Thrown if value is not an integer, or if a table section of the key cannot be resolved.
+	 * @throws ArithmeticException Thrown if the integer does not fit in an int.
+	 */
+	public int getInt(
+		String fullyQualifiedKey
+	) {
+		return this.getInt(TomlKey.compile(fullyQualifiedKey));
+	}
+
+	/**
+	 * Gets an integer from this configuration, which must fit in an int.
+	 *
+	 * @param key Compiled TOML key
+	 *
+	 * @return An integer from this map.
+	 * @throws NoSuchElementException Thrown if any part of the key cannot be resolved.
+	 * @throws ClassCastException Thrown if value is not an integer, or if a table section of the key cannot be resolved.
+	 * @throws ArithmeticException Thrown if the integer does not fit in an int.
+	 */
+	public int getInt(
+		TomlKey key
+	) {
+		long value = this.getPrimitive(key, CacheEntry.INTEGER, "an integer");
+		if (value < Integer.MIN_VALUE || value > Integer.MAX_VALUE)
+		{
+			throw new ArithmeticException("Value at \"" + key + "\" is out of range for an int: " + value);
+		}
+
+		return (int) value;
+	}
+
+	/**
+	 * Gets an integer from this configuration, which must fit in an int. Same as {@link #getInt(String)}.
+	 *
+	 * @param fullyQualifiedKey Fully-qualified TOML key
+	 *
+	 * @return An integer from this map.
+	 * @throws NoSuchElementException Thrown if any part of the key cannot be resolved.
+	 * @throws ClassCastException Thrown if value is not an integer, or if a table section of the key cannot be resolved.
+	 * @throws ArithmeticException Thrown if the integer does not fit in an int.
 	 */
 	public int getInteger(
 		String fullyQualifiedKey
 	) {
-		return this.getWithCast(fullyQualifiedKey, true, Integer.class);
+		return this.getInt(fullyQualifiedKey);
 	}
 
 	/**
-	 * Gets a float from this configuration.
+	 * Gets an integer from this configuration, which must fit in an int. Same as {@link #getInt(String)}.
+	 *
+	 * @param key Compiled TOML key
+	 *
+	 * @return An integer from this map.
+	 * @throws NoSuchElementException Thrown if any part of the key cannot be resolved.
+	 * @throws ClassCastException Thrown if value is not an integer, or if a table section of the key cannot be resolved.
+	 * @throws ArithmeticException Thrown if the integer does not fit in an int.
+	 */
+	public int getInteger(
+		TomlKey key
+	) {
+		return this.getInt(key);
+	}
+
+	/**
+	 * Gets a float from this configuration. Integers are also accepted, and are converted as by a Java widening conversion, which may round
+	 * integers larger than 2^53.
 	 *
 	 * @param fullyQualifiedKey Fully-qualified TOML key
 	 *
 	 * @return A float from this map.
 	 * @throws NoSuchElementException Thrown if any part of the key cannot be resolved.
-	 * @throws ClassCastException Thrown if value cannot be cast to an float, or if a table section of the key cannot be resolved.
+	 * @throws ClassCastException Thrown if value is not a float or an integer, or if a table section of the key cannot be resolved.
+	 */
+	public double getDouble(
+		String fullyQualifiedKey
+	) {
+		return this.getDouble(TomlKey.compile(fullyQualifiedKey));
+	}
+
+	/**
+	 * Gets a float from this configuration. Integers are also accepted, and are converted as by a Java widening conversion, which may round
+	 * integers larger than 2^53.
+	 *
+	 * @param key Compiled TOML key
+	 *
+	 * @return A float from this map.
+	 * @throws NoSuchElementException Thrown if any part of the key cannot be resolved.
+	 * @throws ClassCastException Thrown if value is not a float or an integer, or if a table section of the key cannot be resolved.
+	 */
+	public double getDouble(
+		TomlKey key
+	) {
+		CacheEntry entry = this.getEntry(key, true);
+		return switch (entry.kind) {
+			case CacheEntry.FLOAT -> Double.longBitsToDouble(entry.primitive);
+			case CacheEntry.INTEGER -> entry.primitive;
+			default -> throw wrongPrimitive(key, entry, "a float");
+		};
+	}
+
+	/**
+	 * Gets a float from this configuration, rounded to the nearest float as by {@link #getDouble(String)}.
+	 *
+	 * @param fullyQualifiedKey Fully-qualified TOML key
+	 *
+	 * @return A float from this map.
+	 * @throws NoSuchElementException Thrown if any part of the key cannot be resolved.
+	 * @throws ClassCastException Thrown if value is not a float or an integer, or if a table section of the key cannot be resolved.
 	 */
 	public float getFloat(
 		String fullyQualifiedKey
 	) {
-		return this.getWithCast(fullyQualifiedKey, true, Float.class);
+		return (float) this.getDouble(fullyQualifiedKey);
+	}
+
+	/**
+	 * Gets a float from this configuration, rounded to the nearest float as by {@link #getDouble(String)}.
+	 *
+	 * @param key Compiled TOML key
+	 *
+	 * @return A float from this map.
+	 * @throws NoSuchElementException Thrown if any part of the key cannot be resolved.
+	 * @throws ClassCastException Thrown if value is not a float or an integer, or if a table section of the key cannot be resolved.
+	 */
+	public float getFloat(
+		TomlKey key
+	) {
+		return (float) this.getDouble(key);
 	}
 
 	/**
@@ -193,12 +619,27 @@ public class TomlConfiguration
 	 *
 	 * @return A boolean from this map.
 	 * @throws NoSuchElementException Thrown if any part of the key cannot be resolved.
-	 * @throws ClassCastException Thrown if value cannot be cast to a boolean, or if a table section of the key cannot be resolved.
+	 * @throws ClassCastException Thrown if value is not a boolean, or if a table section of the key cannot be resolved.
 	 */
 	public boolean getBoolean(
 		String fullyQualifiedKey
 	) {
-		return this.getWithCast(fullyQualifiedKey, true, Boolean.class);
+		return this.getBoolean(TomlKey.compile(fullyQualifiedKey));
+	}
+
+	/**
+	 * Gets a boolean from this configuration.
+	 *
+	 * @param key Compiled TOML key
+	 *
+	 * @return A boolean from this map.
+	 * @throws NoSuchElementException Thrown if any part of the key cannot be resolved.
+	 * @throws ClassCastException Thrown if value is not a boolean, or if a table section of the key cannot be resolved.
+	 */
+	public boolean getBoolean(
+		TomlKey key
+	) {
+		return this.getPrimitive(key, CacheEntry.BOOLEAN, "a boolean") != 0;
 	}
 
 	public OffsetDateTime getOffsetDateTime(
@@ -207,48 +648,96 @@ public class TomlConfiguration
 		return this.getWithCast(fullyQualifiedKey, true, OffsetDateTime.class);
 	}
 
+	public OffsetDateTime getOffsetDateTime(
+		TomlKey key
+	) {
+		return this.getWithCast(key, true, OffsetDateTime.class);
+	}
+
 	public OffsetDateTime getOffsetDateTimeOrNull(
 		String fullyQualifiedKey
 	) {
 		return this.getWithCast(fullyQualifiedKey, false, OffsetDateTime.class);
 	}
 
+	public OffsetDateTime getOffsetDateTimeOrNull(
+		TomlKey key
+	) {
+		return this.getWithCast(key, false, OffsetDateTime.class);
+	}
+
 	public LocalDateTime getLocalDateTime(
 		String fullyQualifiedKey
 	) {
 		return this.getWithCast(fullyQualifiedKey, true, LocalDateTime.class);
 	}
 
+	public LocalDateTime getLocalDateTime(
+		TomlKey key
+	) {
+		return this.getWithCast(key, true, LocalDateTime.class);
+	}
+
 	public LocalDateTime getLocalDateTimeOrNull(
 		String fullyQualifiedKey
 	) {
 		return this.getWithCast(fullyQualifiedKey, false, LocalDateTime.class);
 	}
 
+	public LocalDateTime getLocalDateTimeOrNull(
+		TomlKey key
+	) {
+		return this.getWithCast(key, false, LocalDateTime.class);
+	}
+
 	public LocalDate getLocalDate(
 		String fullyQualifiedKey
 	) {
 		return this.getWithCast(fullyQualifiedKey, true, LocalDate.class);
 	}
 
+	public LocalDate getLocalDate(
+		TomlKey key
+	) {
+		return this.getWithCast(key, true, LocalDate.class);
+	}
+
 	public LocalDate getLocalDateOrNull(
 		String fullyQualifiedKey
 	) {
 		return this.getWithCast(fullyQualifiedKey, false, LocalDate.class);
 	}
 
+	public LocalDate getLocalDateOrNull(
+		TomlKey key
+	) {
+		return this.getWithCast(key, false, LocalDate.class);
+	}
+
 	public LocalTime getLocalTime(
 		String fullyQualifiedKey
 	) {
 		return this.getWithCast(fullyQualifiedKey, true, LocalTime.class);
 	}
 
+	public LocalTime getLocalTime(
+		TomlKey key
+	) {
+		return this.getWithCast(key, true, LocalTime.class);
+	}
+
 	public LocalTime getLocalTimeOrNull(
 		String fullyQualifiedKey
 	) {
 		return this.getWithCast(fullyQualifiedKey, false, LocalTime.class);
 	}
 
+	public LocalTime getLocalTimeOrNull(
+		TomlKey key
+	) {
+		return this.getWithCast(key, false, LocalTime.class);
+	}
+
 	@SuppressWarnings("unchecked")
 	public List<Object> getArray(
 		String fullyQualifiedKey
@@ -256,6 +745,13 @@ public class TomlConfiguration
 		return this.getWithCast(fullyQualifiedKey, true, List.class);
 	}
 
+	@SuppressWarnings("unchecked")
+	public List<Object> getArray(
+		TomlKey key
+	) {
+		return this.getWithCast(key, true, List.class);
+	}
+
 	@SuppressWarnings("unchecked")
 	public List<Object> getArrayOrNull(
 		String fullyQualifiedKey
@@ -263,6 +759,13 @@ public class TomlConfiguration
 		return this.getWithCast(fullyQualifiedKey, false, List.class);
 	}
 
+	@SuppressWarnings("unchecked")
+	public List<Object> getArrayOrNull(
+		TomlKey key
+	) {
+		return this.getWithCast(key, false, List.class);
+	}
+
 	@SuppressWarnings("unchecked")
 	public Map<String, Object> getTable(
 		String fullyQualifiedKey
@@ -270,10 +773,62 @@ public class TomlConfiguration
 		return this.getWithCast(fullyQualifiedKey, true, Map.class);
 	}
 
+	@SuppressWarnings("unchecked")
+	public Map<String, Object> getTable(
+		TomlKey key
+	) {
+		return this.getWithCast(key, true, Map.class);
+	}
+
 	@SuppressWarnings("unchecked")
 	public Map<String, Object> getTableOrNull(
 		String fullyQualifiedKey
 	) {
 		return this.getWithCast(fullyQualifiedKey, false, Map.class);
 	}
+
+	@SuppressWarnings("unchecked")
+	public Map<String, Object> getTableOrNull(
+		TomlKey key
+	) {
+		return this.getWithCast(key, false, Map.class);
+	}
+
+	/**
+	 * A cached lookup. Missing values are cached as null.
+	 */
+	private static class CacheEntry
+	{
+		private static final int OBJECT = 0;
+		private static final int INTEGER = 1;
+		private static final int FLOAT = 2;
+		private static final int BOOLEAN = 3;
+
+		private final Object value;
+		private final int kind;
+		private final long primitive; // Integers, float bits, or 1 for true
+		private long stamp; // Time of the last read, or number of reads
+
+		private CacheEntry(
+			Object value
+		) {
+			this.value = value;
+
+			// Unboxed once here, so primitive reads never touch the boxed value
+			if (value instanceof Long || value instanceof Integer)
+			{
+				this.kind = INTEGER;
+				this.primitive = ((Number) value).longValue();
+			} else if (value instanceof Float || value instanceof Double) {
+				this.kind = FLOAT;
+				this.primitive = Double.doubleToRawLongBits(((Number) value).doubleValue());
+			} else if (value instanceof Boolean bool) {
+				this.kind = BOOLEAN;
+				this.primitive = bool ? 1 : 0;
+			} else {
+				this.kind = OBJECT;
+				this.primitive = 0;
+			}
+		}
+	}
 }
@@ -0,0 +1,90 @@
+/*
+ * Lilac, a Java TOML lanugage library
+ * Copyright (C) 2026 Hailey-Jane "Khyonie" Garrett
+ */
+package coffee.khyonieheart.lilac;
+
+import java.util.List;
+
+/**
+ * Reads a TOML document one token at a time, on request. Values are only converted when asked for, and numbers and booleans can be read without boxing.
+ * Syntax is checked as with {@link TomlDecoder}, but key redefinitions are not, since no record of previous keys is kept.
+ */
+public interface TomlCursor
+{
+	/**
+	 * Moves to the next token in the document. Once the end of the document has been reached, always returns {@link TomlToken#END_OF_DOCUMENT}.
+	 *
+	 * @return The next token.
+	 * @throws TomlSyntaxException Thrown if the document is invalid.
+	 */
+	public TomlToken next();
+
+	/**
+	 * Gets the current token.
+	 *
+	 * @return The current token, or null if {@link #next()} has not been called yet.
+	 */
+	public TomlToken current();
+
+	/**
+	 * Skips everything belonging to the current token:
+	 * - On {@link TomlToken#ARRAY_START} or {@link TomlToken#INLINE_TABLE_START}, moves to the matching end token.
+	 * - On {@link TomlToken#KEY}, skips the key's value, moving to either a {@link TomlToken#VALUE} or the end of an array or inline table.
+	 * - On {@link TomlToken#TABLE_HEADER} or {@link TomlToken#TABLE_ARRAY_HEADER}, skips all key/value pairs of the table. The following call to {@link #next()} returns the next header, or the end of the document.
+	 * - On any other token, does nothing.
+	 *
+	 * @return This cursor.
+	 * @throws TomlSyntaxException Thrown if the document is invalid.
+	 */
+	public TomlCursor skipChildren();
+
+	/**
+	 * Gets the full path of keys leading to the current token, starting from the root table.
+	 * For headers, this is the path of the table. For keys and values, this includes the current table and any enclosing inline tables.
+	 * Array elements share the path of their array.
+	 *
+	 * @return A read-only list of keys.
+	 */
+	public List<String> currentKeyPath();
+
+	/**
+	 * Gets the value of the current {@link TomlToken#VALUE} token.
+	 *
+	 * @return The current value.
+	 * @throws IllegalStateException Thrown if the current token is not a value.
+	 */
+	public Object value();
+
+	/**
+	 * Gets the current value as a string.
+	 *
+	 * @return The current value.
+	 * @throws IllegalStateException Thrown if the current token is not a string value.
+	 */
+	public String stringValue();
+
+	/**
+	 * Gets the current value as a long.
+	 *
+	 * @return The current value.
+	 * @throws IllegalStateException Thrown if the current token is not an integer value.
+	 */
+	public long longValue();
+
+	/**
+	 * Gets the current value as a double. Integer values are converted.
+	 *
+	 * @return The current value.
+	 * @throws IllegalStateException Thrown if the current token is not a float or integer value.
+	 */
+	public double doubleValue();
+
+	/**
+	 * Gets the current value as a boolean.
+	 *
+	 * @return The current value.
+	 * @throws IllegalStateException Thrown if the current token is not a boolean value.
+	 */
+	public boolean booleanValue();
+}
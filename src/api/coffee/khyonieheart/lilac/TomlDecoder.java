@@ -6,7 +6,20 @@ package coffee.khyonieheart.lilac;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.MalformedInputException;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.util.Map;
 import java.util.Objects;
 import java.util.function.BiConsumer;
@@ -42,8 +55,33 @@ public interface TomlDecoder
 		return this.decode(new Document(document));
 	}
 
+	/**
+	 * Reads a UTF-8 TOML document into an ordered map, without decoding it into a String first.
+	 *
+	 * @param document UTF-8 bytes of a TOML document
+	 *
+	 * @return A map representing the given document.
+	 * @throws TomlSyntaxException Thrown if the document is invalid.
+	 * @throws TomlRedefineKeyException Thrown if document contains any duplicate keys.
+	 * @throws MalformedInputException Thrown if the document is not valid UTF-8.
+	 * @see ByteBufferDocument
+	 */
+	public default Map<String, Object> decode(
+		byte[] document
+	) throws
+		MalformedInputException
+	{
+		Objects.requireNonNull(document);
+		try {
+			return this.decode(new ByteBufferDocument(ByteBuffer.wrap(document)));
+		} catch (UncheckedIOException e) {
+			throw (MalformedInputException) e.getCause();
+		}
+	}
+
 	/**
 	 * Loads the contents of the given file as a TOML document and reads it into an ordered map.
+	 * The file is read in chunks as it is decoded, see {@link #decode(Reader)}.
 	 *
 	 * @param file A file containing a TOML document
 	 *
@@ -58,7 +96,107 @@ public interface TomlDecoder
 		IOException
 	{
 		Objects.requireNonNull(file);
-		return this.decode(Files.readString(file.toPath()));
+		try (Reader reader = Files.newBufferedReader(file.toPath()))
+		{
+			return this.decode(reader);
+		}
+	}
+
+	/**
+	 * Loads the contents of the given UTF-8 file as a TOML document and reads it into an ordered map.
+	 * The file is memory-mapped and read without decoding it into a String, see {@link ByteBufferDocument}. Files too large to map are read as a stream instead.
+	 *
+	 * @param path Path to a file containing a TOML document
+	 *
+	 * @return A map representing the given document.
+	 * @throws TomlSyntaxException Thrown if the document is invalid.
+	 * @throws TomlRedefineKeyException Thrown if document contains any duplicate keys.
+	 * @throws IOException Thrown if file cannot be read.
+	 */
+	public default Map<String, Object> decode(
+		Path path
+	) throws
+		IOException
+	{
+		Objects.requireNonNull(path);
+		try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ))
+		{
+			if (channel.size() > Integer.MAX_VALUE)
+			{
+				return this.decode(channel);
+			}
+
+			return this.decode(new ByteBufferDocument(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size())));
+		} catch (UncheckedIOException e) {
+			throw e.getCause();
+		}
+	}
+
+	/**
+	 * Reads a TOML document from a character stream into an ordered map.
+	 * The stream is read in chunks as it is decoded, and only the text still needed by the decoder is held in memory. The stream is not closed.
+	 *
+	 * @param reader Stream containing a TOML document
+	 *
+	 * @return A map representing the given document.
+	 * @throws TomlSyntaxException Thrown if the document is invalid.
+	 * @throws TomlRedefineKeyException Thrown if document contains any duplicate keys.
+	 * @throws IOException Thrown if the stream cannot be read.
+	 */
+	public default Map<String, Object> decode(
+		Reader reader
+	) throws
+		IOException
+	{
+		Objects.requireNonNull(reader);
+		try {
+			return this.decode(new StreamDocument(reader));
+		} catch (UncheckedIOException e) {
+			throw e.getCause();
+		}
+	}
+
+	/**
+	 * Reads a TOML document from a byte stream into an ordered map. The stream is not closed.
+	 *
+	 * @param stream Stream containing a TOML document
+	 * @param charset Character set of the stream
+	 *
+	 * @return A map representing the given document.
+	 * @throws TomlSyntaxException Thrown if the document is invalid.
+	 * @throws TomlRedefineKeyException Thrown if document contains any duplicate keys.
+	 * @throws IOException Thrown if the stream cannot be read.
+	 * @see #decode(Reader)
+	 */
+	public default Map<String, Object> decode(
+		InputStream stream,
+		Charset charset
+	) throws
+		IOException
+	{
+		Objects.requireNonNull(stream);
+		Objects.requireNonNull(charset);
+		return this.decode(new InputStreamReader(stream, charset.newDecoder()));
+	}
+
+	/**
+	 * Reads a UTF-8 TOML document from a channel into an ordered map. The channel is not closed.
+	 *
+	 * @param channel Channel containing a TOML document
+	 *
+	 * @return A map representing the given document.
+	 * @throws TomlSyntaxException Thrown if the document is invalid.
+	 * @throws TomlRedefineKeyException Thrown if document contains any duplicate keys.
+	 * @throws IOException Thrown if the channel cannot be read.
+	 * @see #decode(Reader)
+	 */
+	public default Map<String, Object> decode(
+		ReadableByteChannel channel
+	) throws
+		IOException
+	{
+		Objects.requireNonNull(channel);
+		return this.decode(Channels.newReader(channel, StandardCharsets.UTF_8.newDecoder(), -1));
 	}
 
 	/**
@@ -154,4 +292,34 @@ public interface TomlDecoder
 	 * @return Current TOML specification being followed by this decoder.
 	 */
 	public TomlVersion getVersion();
+
+	/**
+	 * Sets whether floats are decoded as 64-bit {@link Double}s, as the TOML specification defines them, or as 32-bit {@link Float}s.
+	 * Floats are decoded as {@link Float}s by default. Decoders which only decode {@link Float}s need not override this.
+	 *
+	 * @param doublePrecision Whether or not to decode floats as doubles
+	 *
+	 * @return This decoder instance.
+	 * @throws UnsupportedOperationException Thrown if double precision is requested from a decoder which does not support it.
+	 */
+	public default TomlDecoder setDoublePrecision(
+		boolean doublePrecision
+	) {
+		if (doublePrecision)
+		{
+			throw new UnsupportedOperationException(this.getClass().getName() + " does not support decoding floats as doubles");
+		}
+
+		return this;
+	}
+
+	/**
+	 * Gets whether floats are decoded as 64-bit {@link Double}s.
+	 *
+	 * @return Whether or not floats are decoded as doubles. False unless overridden.
+	 */
+	public default boolean isDoublePrecision()
+	{
+		return false;
+	}
 }
@@ -4,7 +4,14 @@
  */ 
 package coffee.khyonieheart.lilac;
 
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
 import java.util.Map;
+import java.util.Objects;
 
 public interface TomlEncoder
 {
@@ -18,4 +25,61 @@ public interface TomlEncoder
 	public String encode(
 		Map<String, Object> data
 	);
+
+	/**
+	 * Encodes the given map as a TOML document, writing it to the given output. By default the whole document is encoded to a string first,
+	 * encoders may override this to write it directly as it is encoded.
+	 *
+	 * @param data Map to encode
+	 * @param output Output to write to
+	 *
+	 * @throws IOException Thrown if the output cannot be written to.
+	 */
+	public default void encode(
+		Map<String, Object> data,
+		Appendable output
+	) throws
+		IOException
+	{
+		output.append(this.encode(data));
+	}
+
+	/**
+	 * Encodes the given map as a TOML document, writing it to the given writer in chunks. The writer is flushed, but not closed.
+	 *
+	 * @param data Map to encode
+	 * @param writer Writer to write to
+	 *
+	 * @throws IOException Thrown if the writer cannot be written to.
+	 */
+	public default void encode(
+		Map<String, Object> data,
+		Writer writer
+	) throws
+		IOException
+	{
+		Objects.requireNonNull(writer);
+		BufferedWriter buffered = (writer instanceof BufferedWriter) ? (BufferedWriter) writer : new BufferedWriter(writer);
+
+		this.encode(data, (Appendable) buffered);
+		buffered.flush();
+	}
+
+	/**
+	 * Encodes the given map as a UTF-8 TOML document, writing it to the given stream in chunks. The stream is flushed, but not closed.
+	 *
+	 * @param data Map to encode
+	 * @param stream Stream to write to
+	 *
+	 * @throws IOException Thrown if the stream cannot be written to.
+	 */
+	public default void encode(
+		Map<String, Object> data,
+		OutputStream stream
+	) throws
+		IOException
+	{
+		Objects.requireNonNull(stream);
+		this.encode(data, new OutputStreamWriter(stream, StandardCharsets.UTF_8));
+	}
 }
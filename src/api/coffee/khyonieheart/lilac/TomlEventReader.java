@@ -0,0 +1,73 @@
+/*
+ * Lilac, a Java TOML lanugage library
+ * Copyright (C) 2026 Hailey-Jane "Khyonie" Garrett
+ */
+package coffee.khyonieheart.lilac;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.util.Objects;
+
+/**
+ * Reads TOML documents as a series of events, without building a map of the document.
+ * Syntax is checked as with {@link TomlDecoder}, but key redefinitions are not, since no record of previous keys is kept.
+ */
+public interface TomlEventReader
+{
+	/**
+	 * Reads a TOML document, giving its contents to the given handler as they are read.
+	 *
+	 * @param document Document to read
+	 * @param handler Handler to receive events
+	 *
+	 * @throws TomlSyntaxException Thrown if the document is invalid.
+	 */
+	public void read(
+		Document document,
+		TomlHandler handler
+	);
+
+	/**
+	 * Reads a TOML document, giving its contents to the given handler as they are read.
+	 *
+	 * @param document Document to read
+	 * @param handler Handler to receive events
+	 *
+	 * @throws TomlSyntaxException Thrown if the document is invalid.
+	 */
+	public default void read(
+		String document,
+		TomlHandler handler
+	) {
+		Objects.requireNonNull(document);
+		this.read(new Document(document), handler);
+	}
+
+	/**
+	 * Loads the contents of the given file as a TOML document, giving its contents to the given handler as they are read.
+	 * The file is read in chunks, see {@link StreamDocument}.
+	 *
+	 * @param file A file containing a TOML document
+	 * @param handler Handler to receive events
+	 *
+	 * @throws TomlSyntaxException Thrown if the document is invalid.
+	 * @throws IOException Thrown if file cannot be read.
+	 */
+	public default void read(
+		File file,
+		TomlHandler handler
+	) throws
+		IOException
+	{
+		Objects.requireNonNull(file);
+		try (Reader reader = Files.newBufferedReader(file.toPath()))
+		{
+			this.read(new StreamDocument(reader), handler);
+		} catch (UncheckedIOException e) {
+			throw e.getCause();
+		}
+	}
+}
@@ -0,0 +1,395 @@
+/*
+ * Lilac, a Java TOML lanugage library
+ * Copyright (C) 2026 Hailey-Jane "Khyonie" Garrett
+ */
+package coffee.khyonieheart.lilac;
+
+import java.util.AbstractList;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.RandomAccess;
+import java.util.Set;
+import java.util.function.BiConsumer;
+
+/**
+ * Compact, immutable copies of TOML tables and arrays, see {@link TomlConfiguration#freeze()}.
+ *
+ * Tables keep their keys and values in two arrays in insertion order, with an open-addressing index for tables larger than a few keys. Keys
+ * are interned, so key names repeated across tables and configurations are only held once. Arrays of only integers, only floats or only
+ * doubles are held as primitive arrays, and box each element when it is read.
+ *
+ * Table and array types are not kept, so frozen inline tables and arrays of tables are encoded as regular tables and arrays.
+ */
+final class TomlFrozen
+{
+	private static final int LINEAR_SEARCH_SIZE = 8; // Tables up to this size are searched without an index
+
+	private TomlFrozen() {}
+
+	/**
+	 * Freezes a value. Tables and arrays are copied recursively, other values are kept as they are.
+	 */
+	@SuppressWarnings("unchecked")
+	static Object freeze(
+		Object value
+	) {
+		if (isFrozen(value))
+		{
+			return value;
+		}
+
+		if (value instanceof Map)
+		{
+			return freezeTable((Map<String, Object>) value);
+		}
+
+		if (value instanceof List)
+		{
+			return freezeArray((List<Object>) value);
+		}
+
+		return value;
+	}
+
+	static Table freezeTable(
+		Map<String, Object> table
+	) {
+		String[] keys = new String[table.size()];
+		Object[] values = new Object[keys.length];
+
+		int index = 0;
+		for (Map.Entry<String, Object> entry : table.entrySet())
+		{
+			keys[index] = entry.getKey().intern();
+			values[index] = freeze(entry.getValue());
+			index++;
+		}
+
+		return new Table(keys, values);
+	}
+
+	private static List<Object> freezeArray(
+		List<Object> array
+	) {
+		if (array.isEmpty())
+		{
+			return List.of();
+		}
+
+		boolean integers = true;
+		boolean floats = true;
+		boolean doubles = true;
+		for (Object element : array)
+		{
+			integers &= element instanceof Long;
+			floats &= element instanceof Float;
+			doubles &= element instanceof Double;
+		}
+
+		if (integers)
+		{
+			long[] elements = new long[array.size()];
+			for (int i = 0; i < elements.length; i++)
+			{
+				elements[i] = (Long) array.get(i);
+			}
+
+			return new LongArray(elements);
+		}
+
+		if (floats)
+		{
+			float[] elements = new float[array.size()];
+			for (int i = 0; i < elements.length; i++)
+			{
+				elements[i] = (Float) array.get(i);
+			}
+
+			return new FloatArray(elements);
+		}
+
+		if (doubles)
+		{
+			double[] elements = new double[array.size()];
+			for (int i = 0; i < elements.length; i++)
+			{
+				elements[i] = (Double) array.get(i);
+			}
+
+			return new DoubleArray(elements);
+		}
+
+		Object[] elements = new Object[array.size()];
+		for (int i = 0; i < elements.length; i++)
+		{
+			elements[i] = freeze(array.get(i));
+		}
+
+		return new Array(elements);
+	}
+
+	/**
+	 * Gets whether or not a value is already immutable, and does not need to be wrapped or copied.
+	 */
+	static boolean isFrozen(
+		Object value
+	) {
+		return value instanceof Table || value instanceof Array || value instanceof LongArray || value instanceof FloatArray || value instanceof DoubleArray;
+	}
+
+	static final class Table extends AbstractMap<String, Object>
+	{
+		private final String[] keys;
+		private final Object[] values;
+		private final int[] index; // Positions of keys plus one, by hash. Null for small tables
+
+		private Set<Map.Entry<String, Object>> entrySet = null;
+
+		private Table(
+			String[] keys,
+			Object[] values
+		) {
+			this.keys = keys;
+			this.values = values;
+
+			if (keys.length <= LINEAR_SEARCH_SIZE)
+			{
+				this.index = null;
+				return;
+			}
+
+			// At most half full
+			this.index = new int[Integer.highestOneBit(keys.length * 2 - 1) << 1];
+			int mask = index.length - 1;
+			for (int i = 0; i < keys.length; i++)
+			{
+				int slot = spread(keys[i].hashCode()) & mask;
+				while (index[slot] != 0)
+				{
+					slot = (slot + 1) & mask;
+				}
+
+				index[slot] = i + 1;
+			}
+		}
+
+		private int indexOf(
+			Object key
+		) {
+			if (!(key instanceof String))
+			{
+				return -1;
+			}
+
+			if (index == null)
+			{
+				for (int i = 0; i < keys.length; i++)
+				{
+					if (keys[i].equals(key))
+					{
+						return i;
+					}
+				}
+
+				return -1;
+			}
+
+			int mask = index.length - 1;
+			int slot = spread(key.hashCode()) & mask;
+			while (index[slot] != 0)
+			{
+				int position = index[slot] - 1;
+				if (keys[position].equals(key))
+				{
+					return position;
+				}
+
+				slot = (slot + 1) & mask;
+			}
+
+			return -1;
+		}
+
+		private static int spread(
+			int hash
+		) {
+			return hash ^ (hash >>> 16);
+		}
+
+		@Override
+		public Object get(
+			Object key
+		) {
+			int position = this.indexOf(key);
+			return position == -1 ? null : values[position];
+		}
+
+		@Override
+		public boolean containsKey(
+			Object key
+		) {
+			return this.indexOf(key) != -1;
+		}
+
+		@Override
+		public int size()
+		{
+			return keys.length;
+		}
+
+		@Override
+		public void forEach(
+			BiConsumer<? super String, ? super Object> action
+		) {
+			for (int i = 0; i < keys.length; i++)
+			{
+				action.accept(keys[i], values[i]);
+			}
+		}
+
+		@Override
+		public Set<Map.Entry<String, Object>> entrySet()
+		{
+			if (entrySet == null)
+			{
+				entrySet = new AbstractSet<>() {
+					@Override
+					public Iterator<Map.Entry<String, Object>> iterator()
+					{
+						return new Iterator<>() {
+							private int position = 0;
+
+							@Override
+							public boolean hasNext()
+							{
+								return position < keys.length;
+							}
+
+							@Override
+							public Map.Entry<String, Object> next()
+							{
+								if (position >= keys.length)
+								{
+									throw new NoSuchElementException();
+								}
+
+								Map.Entry<String, Object> entry = new AbstractMap.SimpleImmutableEntry<>(keys[position], values[position]);
+								position++;
+
+								return entry;
+							}
+						};
+					}
+
+					@Override
+					public int size()
+					{
+						return keys.length;
+					}
+				};
+			}
+
+			return entrySet;
+		}
+	}
+
+	static final class Array extends AbstractList<Object> implements RandomAccess
+	{
+		private final Object[] elements;
+
+		private Array(
+			Object[] elements
+		) {
+			this.elements = elements;
+		}
+
+		@Override
+		public Object get(
+			int index
+		) {
+			return elements[index];
+		}
+
+		@Override
+		public int size()
+		{
+			return elements.length;
+		}
+	}
+
+	static final class LongArray extends AbstractList<Object> implements RandomAccess
+	{
+		private final long[] elements;
+
+		private LongArray(
+			long[] elements
+		) {
+			this.elements = elements;
+		}
+
+		@Override
+		public Object get(
+			int index
+		) {
+			return elements[index];
+		}
+
+		@Override
+		public int size()
+		{
+			return elements.length;
+		}
+	}
+
+	static final class FloatArray extends AbstractList<Object> implements RandomAccess
+	{
+		private final float[] elements;
+
+		private FloatArray(
+			float[] elements
+		) {
+			this.elements = elements;
+		}
+
+		@Override
+		public Object get(
+			int index
+		) {
+			return elements[index];
+		}
+
+		@Override
+		public int size()
+		{
+			return elements.length;
+		}
+	}
+
+	static final class DoubleArray extends AbstractList<Object> implements RandomAccess
+	{
+		private final double[] elements;
+
+		private DoubleArray(
+			double[] elements
+		) {
+			this.elements = elements;
+		}
+
+		@Override
+		public Object get(
+			int index
+		) {
+			return elements[index];
+		}
+
+		@Override
+		public int size()
+		{
+			return elements.length;
+		}
+	}
+}
@@ -0,0 +1,93 @@
+/*
+ * Lilac, a Java TOML lanugage library
+ * Copyright (C) 2026 Hailey-Jane "Khyonie" Garrett
+ */
+package coffee.khyonieheart.lilac;
+
+import java.util.List;
+
+/**
+ * Receives the contents of a TOML document from a {@link TomlEventReader}, in document order.
+ * All methods do nothing by default, so handlers only need to implement the events they are interested in.
+ *
+ * Keys are given in document order, with one element per dotted key part. Key lists are read-only and are not reused by the reader.
+ */
+public interface TomlHandler
+{
+	/**
+	 * Called before any other event.
+	 */
+	public default void startDocument() {}
+
+	/**
+	 * Called after all other events.
+	 */
+	public default void endDocument() {}
+
+	/**
+	 * Called for a table header, such as {@code [a.b]}. Following key/value pairs belong to this table, until the next table or array of tables.
+	 *
+	 * @param keys Keys of the table
+	 */
+	public default void startTable(
+		List<String> keys
+	) {}
+
+	/**
+	 * Called for an array of tables header, such as {@code [[a.b]]}. Following key/value pairs belong to a new table in this array, 
+	 * until the next table or array of tables.
+	 *
+	 * @param keys Keys of the array of tables
+	 */
+	public default void startArrayOfTables(
+		List<String> keys
+	) {}
+
+	/**
+	 * Called for a key with a string, number, boolean or date/time value.
+	 *
+	 * @param keys Keys of the value, relative to the current table
+	 * @param value Value
+	 */
+	public default void keyValue(
+		List<String> keys,
+		Object value
+	) {}
+
+	/**
+	 * Called for a string, number, boolean or date/time element of an array.
+	 *
+	 * @param value Value
+	 */
+	public default void arrayValue(
+		Object value
+	) {}
+
+	/**
+	 * Called at the start of an array. Following events describe the elements of the array, until the matching {@link #endArray()}.
+	 *
+	 * @param keys Keys of the array, relative to the current table. Null if this array is an element of another array.
+	 */
+	public default void startArray(
+		List<String> keys
+	) {}
+
+	/**
+	 * Called at the end of an array.
+	 */
+	public default void endArray() {}
+
+	/**
+	 * Called at the start of an inline table. Following events describe the contents of the table, until the matching {@link #endInlineTable()}.
+	 *
+	 * @param keys Keys of the inline table, relative to the current table. Null if this table is an element of an array.
+	 */
+	public default void startInlineTable(
+		List<String> keys
+	) {}
+
+	/**
+	 * Called at the end of an inline table.
+	 */
+	public default void endInlineTable() {}
+}
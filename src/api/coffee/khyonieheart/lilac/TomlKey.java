@@ -0,0 +1,99 @@
+/*
+ * Lilac, a Java TOML lanugage library
+ * Copyright (C) 2026 Hailey-Jane "Khyonie" Garrett
+ */
+package coffee.khyonieheart.lilac;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * A fully-qualified TOML key which has been parsed ahead of time, for reading the same value from a {@link TomlConfiguration} many times.
+ *
+ * Reading with a compiled key skips parsing the key, and finds the cached value without allocating. Keys are equal if their parts are equal
+ * once quotes are removed, so <code>"a.b"</code> and <code>"a.'b'"</code> compile to equal keys.
+ */
+public final class TomlKey
+{
+	private final String key;
+	private final String[] parts;
+	private final int hash;
+
+	private TomlKey(
+		String key,
+		String[] parts
+	) {
+		this.key = key;
+		this.parts = parts;
+		this.hash = Arrays.hashCode(parts);
+	}
+
+	/**
+	 * Parses a fully-qualified TOML key.
+	 *
+	 * @param fullyQualifiedKey Fully-qualified TOML key, such as <code>servers.'eu-west-1'.ip</code>
+	 *
+	 * @return A compiled key.
+	 * @throws IllegalArgumentException Thrown if the key is not a valid TOML key.
+	 */
+	public static TomlKey compile(
+		String fullyQualifiedKey
+	) {
+		Objects.requireNonNull(fullyQualifiedKey);
+
+		String[] parts = TomlUtilities.fullyQualifiedKeyToArray(fullyQualifiedKey);
+		if (parts.length == 0)
+		{
+			throw new IllegalArgumentException("Invalid key \"" + fullyQualifiedKey + "\", a key may not be empty");
+		}
+
+		return new TomlKey(fullyQualifiedKey, parts);
+	}
+
+	/**
+	 * Gets the parts of this key, with quotes removed.
+	 */
+	public List<String> getParts()
+	{
+		return List.of(parts);
+	}
+
+	int length()
+	{
+		return parts.length;
+	}
+
+	String part(
+		int index
+	) {
+		return parts[index];
+	}
+
+	@Override
+	public boolean equals(
+		Object object
+	) {
+		if (this == object)
+		{
+			return true;
+		}
+
+		return object instanceof TomlKey other && hash == other.hash && Arrays.equals(parts, other.parts);
+	}
+
+	@Override
+	public int hashCode()
+	{
+		return hash;
+	}
+
+	/**
+	 * Gets the key this was compiled from.
+	 */
+	@Override
+	public String toString()
+	{
+		return key;
+	}
+}
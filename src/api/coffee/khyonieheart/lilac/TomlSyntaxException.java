@@ -15,7 +15,7 @@ public class TomlSyntaxException extends RuntimeException
 		String message,
 		Document document
 	) {
-		return of(message, document.getDocument(), document.getPointer());
+		return of(message, document, document.getPointer(), null);
 	}
 
 	public static TomlSyntaxException of(
@@ -23,7 +23,15 @@ public class TomlSyntaxException extends RuntimeException
 		String document,
 		Symbol<?> symbol
 	) {
-		return of(message, document, symbol.getPosition());
+		return of(message, document, 1, symbol.getPosition(), null);
+	}
+
+	public static TomlSyntaxException of(
+		String message,
+		Document document,
+		Symbol<?> symbol
+	) {
+		return of(message, document, symbol.getPosition(), null);
 	}
 
 	public static TomlSyntaxException of(
@@ -31,7 +39,7 @@ public class TomlSyntaxException extends RuntimeException
 		Document document,
 		Throwable cause
 	) {
-		return of(message, document.getDocument(), document.getPointer(), cause);
+		return of(message, document, document.getPointer(), cause);
 	}
 
 	public static TomlSyntaxException of(
@@ -39,41 +47,38 @@ public class TomlSyntaxException extends RuntimeException
 		String document,
 		Symbol<?> symbol,
 		Throwable cause
+	) {
+		return of(message, document, 1, symbol.getPosition(), cause);
+	}
+
+	public static TomlSyntaxException of(
+		String message,
+		Document document,
+		Symbol<?> symbol,
+		Throwable cause
 	) {
 		return of(message, document, symbol.getPosition(), cause);
 	}
 
 	private static TomlSyntaxException of(
 		String message,
-		String document,
-		int pointer
+		Document document,
+		int pointer,
+		Throwable cause
 	) {
-		// Count newlines
-		int newlines = 1;
-
-		int linePosition = 0;
-		for (int i = 0; i < pointer; i++)
-		{
-			linePosition++;
-			if (document.charAt(i) == '\n')
-			{
-				newlines++;
-				linePosition = 1;
-			}
-		}
-
-		message += " at line " + newlines + " position " + linePosition;
-		return new TomlSyntaxException(message, document, newlines, linePosition);
+		// Documents read from a stream only hold recent text
+		return of(message, document.getDocument(), document.getFirstLine(), Math.max(0, pointer - document.getOffset()), cause);
 	}
 
 	private static TomlSyntaxException of(
 		String message,
 		String document,
+		int firstLine,
 		int pointer,
 		Throwable cause
 	) {
 		// Count newlines
-		int newlines = 1;
+		int newlines = firstLine;
 
 		int linePosition = 0;
 		for (int i = 0; i < pointer; i++)
@@ -87,54 +92,63 @@ public class TomlSyntaxException extends RuntimeException
 		}
 
 		message += " at line " + newlines + " position " + linePosition;
-		return new TomlSyntaxException(message, document, newlines, linePosition, cause);
+		if (cause == null)
+		{
+			return new TomlSyntaxException(message, document, firstLine, newlines, linePosition);
+		}
+
+		return new TomlSyntaxException(message, document, firstLine, newlines, linePosition, cause);
 	}
 
 	private TomlSyntaxException(
 		String message,
 		String document,
+		int firstLine,
 		int newline,
 		int position
 	) {
-		super(generateMessage(message, document, newline, position));
+		super(generateMessage(message, document, firstLine, newline, position));
 	}
 
 	private TomlSyntaxException(
 		String message,
 		String document,
+		int firstLine,
 		int newline,
 		int position,
 		Throwable cause
 	) {
-		super(generateMessage(message, document, newline, position), cause);
+		super(generateMessage(message, document, firstLine, newline, position), cause);
 	}
 
 	private static String generateMessage(
 		String message,
 		String documentText,
+		int firstLine,
 		int newline,
 		int linePosition
 	) {
 		StringBuilder builder = new StringBuilder();
+		int index = newline - firstLine + 1; // Line index within the held text
 
 		builder.append(message).append("\n");
 		List<String> documentTextList = new ArrayList<>();
 
-		int line = 1;
+		int line = firstLine;
 		for (String s : documentText.split("\n"))
 		{
 			String prefix = (line == newline) ? "!" : " ";
 			documentTextList.add(prefix + String.format("%1$4d", line++) + " ║ " + s + "↲");
 		}
 
-		if (newline >= documentTextList.size())
+		if (index >= documentTextList.size())
 		{
 			documentTextList.add("╴╴╴╴╴╴╫─" + "─".repeat(linePosition) + "╯ (Here)");
 		} else {
-			documentTextList.add(newline, "╴╴╴╴╴╴╫─" + "─".repeat(linePosition) + "╯ (Here)");
+			documentTextList.add(index, "╴╴╴╴╴╴╫─" + "─".repeat(linePosition) + "╯ (Here)");
 		}
 
-		for (int i = Math.max(0, newline - 5); i < Math.min(documentTextList.size(), newline + 6); i++)
+		for (int i = Math.max(0, index - 5); i < Math.min(documentTextList.size(), index + 6); i++)
 		{
 			builder.append(documentTextList.get(i)).append("\n");
 		}
@@ -0,0 +1,26 @@
+/*
+ * Lilac, a Java TOML lanugage library
+ * Copyright (C) 2026 Hailey-Jane "Khyonie" Garrett
+ */
+package coffee.khyonieheart.lilac;
+
+/**
+ * Tokens returned by a {@link TomlCursor}.
+ */
+public enum TomlToken
+{
+	/** A table header, such as {@code [a.b]}. */
+	TABLE_HEADER,
+	/** An array of tables header, such as {@code [[a.b]]}. */
+	TABLE_ARRAY_HEADER,
+	/** The key of a key/value pair, including all dotted parts. */
+	KEY,
+	/** A string, number, boolean or date/time value. */
+	VALUE,
+	ARRAY_START,
+	ARRAY_END,
+	INLINE_TABLE_START,
+	INLINE_TABLE_END,
+	END_OF_DOCUMENT
+	;
+}
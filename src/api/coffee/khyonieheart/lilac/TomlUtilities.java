@@ -1,10 +1,36 @@
 package coffee.khyonieheart.lilac;
 
 import java.util.ArrayDeque;
+import java.util.Arrays;
 import java.util.Deque;
 
 class TomlUtilities
 {
+	private static final byte[] HEX_DIGITS = new byte[128]; // By ASCII character, -1 if not a hexadecimal digit
+	private static final char[] SIMPLE_ESCAPES = new char[128]; // By the character after the backslash, 0 if not an escape
+
+	static {
+		Arrays.fill(HEX_DIGITS, (byte) -1);
+		for (int i = 0; i < 10; i++)
+		{
+			HEX_DIGITS['0' + i] = (byte) i;
+		}
+
+		for (int i = 0; i < 6; i++)
+		{
+			HEX_DIGITS['a' + i] = (byte) (10 + i);
+			HEX_DIGITS['A' + i] = (byte) (10 + i);
+		}
+
+		SIMPLE_ESCAPES['"'] = '"';
+		SIMPLE_ESCAPES['\\'] = '\\';
+		SIMPLE_ESCAPES['b'] = '\b';
+		SIMPLE_ESCAPES['t'] = '\t';
+		SIMPLE_ESCAPES['n'] = '\n';
+		SIMPLE_ESCAPES['f'] = '\f';
+		SIMPLE_ESCAPES['r'] = '\r';
+	}
+
 	public static String[] fullyQualifiedKeyToArray(
 		String fullyQualifiedKey
 	) {
@@ -91,7 +117,7 @@ class TomlUtilities
 	}
 
 	/**
-	 * Attempts to parse a quoted key.
+	 * Attempts to parse a quoted key. Escapes are read with the newest TOML version, so keys may use any escape a document can.
 	 */
 	private static String parseQuotedKey(
 		String fullyQualifiedKey,
@@ -104,17 +130,23 @@ class TomlUtilities
 			throw new IllegalArgumentException("Unterminated string in key");
 		}
 
+		Document document = new Document(fullyQualifiedKey);
+		while (document.getPointer() < pointer[0])
+		{
+			document.incrementPointer();
+		}
+
 		boolean escaped = false;
 		char current;
 		StringBuilder builder = new StringBuilder();
 		while (true) 
 		{
-			if (pointer[0] >= fullyQualifiedKey.length())
+			if (document.getPointer() >= fullyQualifiedKey.length())
 			{
 				throw new IllegalArgumentException("Unterminated string to end of key");
 			}
 
-			current = fullyQualifiedKey.charAt(pointer[0]++);
+			current = document.getCharAndIncrement();
 
 			if (current == '"' && !escaped)
 			{
@@ -130,45 +162,11 @@ class TomlUtilities
 			if (escaped)
 			{
 				escaped = false;
-				switch (current)
-				{
-					case '"' -> builder.append(current);
-					case 't' -> builder.append('\t');
-					case 'n' -> builder.append('\n');
-					case 'r' -> builder.append('\r');
-					case 'f' -> builder.append('\f');
-					case '\\' -> builder.append(current);
-					case 'b' -> builder.append('\b');
-					case 'U' -> { // UTF-24
-						long codepoint = readUTFCodepoint(fullyQualifiedKey, pointer, 8);
-
-						if (codepoint >= '\uD800' && codepoint <= '\uDFFF')
-						{
-							throw new IllegalArgumentException("Unicode surrogates cannot be used as a codepoint");
-						}
-
-						if (codepoint > 0x0010FFFF)
-						{
-							throw new IllegalArgumentException("Out-of-range unicode literal");
-						}
-
-						current = fullyQualifiedKey.charAt(pointer[0]);
-						builder.append((char) codepoint);
-						continue;
-					}
-					case 'u' -> { // UTF-16
-						long codepoint = readUTFCodepoint(fullyQualifiedKey, pointer, 4);
-
-						if (codepoint >= '\uD800' && codepoint <= '\uDFFF')
-						{
-							throw new IllegalStateException("Unicode surrogates cannot be used as a codepoint");
-						}
 
-						current = fullyQualifiedKey.charAt(pointer[0]);
-						builder.append((char) codepoint);
-						continue;
-					}
-					default -> throw new IllegalArgumentException("Unrecognized escape sequence \"\\" + current + "\"");
+				try {
+					appendEscape(document, TomlVersion.V1_1_0, current, builder);
+				} catch (TomlSyntaxException e) {
+					throw new IllegalArgumentException("Invalid escape sequence in key \"" + fullyQualifiedKey + "\"", e);
 				}
 
 				continue;
@@ -183,6 +181,8 @@ class TomlUtilities
 			builder.append(current);
 		}
 
+		pointer[0] = document.getPointer();
+
 		return builder.toString();
 	}
 
@@ -245,31 +245,126 @@ class TomlUtilities
 		return false;
 	}
 
-	private static long readUTFCodepoint(
-		String fullyQualifiedKey,
-		int[] pointer,
+	/**
+	 * Decodes the escape sequence after a backslash in a basic string or quoted key, and appends the character it stands for.
+	 *
+	 * @param document Document to read from, with the pointer after the escaped character
+	 * @param version TOML version the escape is read with, which decides whether the v1.1.0 escapes are allowed
+	 * @param escape Character after the backslash
+	 * @param builder Builder to append the unescaped character to
+	 */
+	static void appendEscape(
+		Document document,
+		TomlVersion version,
+		char escape,
+		StringBuilder builder
+	) {
+		char unescaped = simpleEscape(escape);
+		if (unescaped != 0)
+		{
+			builder.append(unescaped);
+			return;
+		}
+
+		switch (escape)
+		{
+			case 'e' -> {
+				if (version != TomlVersion.V1_1_0)
+				{
+					throw TomlSyntaxException.of("ESC character literals '\\e' are not supported in TOML v1.0.0", document.hold());
+				}
+
+				builder.append('\u001B');
+			}
+			case 'U' -> { // UTF-24
+				long codepoint = readUTFCodepoint(document, 8);
+
+				if (codepoint >= '\uD800' && codepoint <= '\uDFFF')
+				{
+					throw TomlSyntaxException.of("Unicode surrogates cannot be used in unicode characters", document.hold(5));
+				}
+
+				if (codepoint > Character.MAX_CODE_POINT)
+				{
+					throw TomlSyntaxException.of("Out-of-range unicode literal", document.hold(9));
+				}
+
+				builder.appendCodePoint((int) codepoint);
+			}
+			case 'u' -> { // UTF-16
+				long codepoint = readUTFCodepoint(document, 4);
+
+				if (codepoint >= '\uD800' && codepoint <= '\uDFFF')
+				{
+					throw TomlSyntaxException.of("Unicode surrogates cannot be used in unicode characters", document.hold(5));
+				}
+
+				builder.append((char) codepoint);
+			}
+			case 'x' -> { // UTF-8 hex
+				if (version != TomlVersion.V1_1_0)
+				{
+					throw TomlSyntaxException.of("Hex escaped character literals '\\x' are not supported in TOML v1.0.0", document.hold());
+				}
+
+				builder.append((char) readUTFCodepoint(document, 2));
+			}
+			default -> throw TomlSyntaxException.of("Unrecognized escape sequence \"\\" + escape + "\"", document.hold().hold());
+		}
+	}
+
+	/**
+	 * Reads the hexadecimal digits of a unicode escape sequence.
+	 *
+	 * @param document Document to read from
+	 * @param length Number of digits to read
+	 *
+	 * @return The codepoint, which has not been checked.
+	 */
+	static long readUTFCodepoint(
+		Document document,
 		int length
 	) {
-		char current;
-		String codepoint = new String();
+		long codepoint = 0;
 		for (int i = 0; i < length; i++)
 		{
-			if (pointer[0] >= fullyQualifiedKey.length())
+			if (!document.hasNext())
 			{
-				throw new IllegalArgumentException("Not enough characters present for UTF codepoint");
+				throw TomlSyntaxException.of("Unexpected end of document", document);
 			}
 
-			current = fullyQualifiedKey.charAt(pointer[0]++);
-			try {
-				Byte.parseByte("" + current, 16);
-
-				codepoint += current;
-			} catch (NumberFormatException e) {
-				throw new IllegalArgumentException("Illegal character \"" + current + "\" in unicode sequence");
+			char current = document.getCharAndIncrement();
+			int digit = hexDigit(current);
+			if (digit == -1)
+			{
+				throw TomlSyntaxException.of("Illegal character \"" + current + "\" in unicode sequence", document);
 			}
+
+			codepoint = (codepoint << 4) | digit;
 		}
 
-		return Long.parseLong(codepoint, 16);
+		return codepoint;
+	}
+
+	/**
+	 * Gets the value of a hexadecimal digit.
+	 *
+	 * @return The value of the digit, or -1 if the character is not a hexadecimal digit.
+	 */
+	static int hexDigit(
+		char character
+	) {
+		return character < HEX_DIGITS.length ? HEX_DIGITS[character] : -1;
+	}
 
+	/**
+	 * Gets the character a single-character escape sequence such as <code>\n</code> stands for. Escapes which depend on the TOML version are not included.
+	 *
+	 * @return The unescaped character, or 0 if the character does not form a single-character escape sequence.
+	 */
+	static char simpleEscape(
+		char character
+	) {
+		return character < SIMPLE_ESCAPES.length ? SIMPLE_ESCAPES[character] : 0;
 	}
 }
@@ -4,8 +4,6 @@
  */ 
 package coffee.khyonieheart.lilac.symbol;
 
-import java.lang.reflect.Constructor;
-import java.lang.reflect.InvocationTargetException;
 import java.util.Collection;
 import java.util.Deque;
 import java.util.Objects;
@@ -42,18 +40,44 @@ public abstract class Symbol<T>
 		TomlDecoder decoder
 	);
 
+	/**
+	 * Gets whether or not this symbol may act on a document whose next non-whitespace character is the given character.
+	 * Returning false promises that {@link #tryParse(Document, TomlDecoder, Deque)} would return false without throwing, which allows the lexer to skip this symbol.
+	 *
+	 * Only consulted for ASCII characters. Defaults to true.
+	 *
+	 * @param character Next character in the document
+	 *
+	 * @return Whether or not this symbol must be tried.
+	 */
+	public boolean canStartWith(
+		char character
+	) {
+		return true;
+	}
+
+	/**
+	 * Creates a new instance of the given symbol.
+	 *
+	 * @param symbol Symbol type
+	 *
+	 * @return A new symbol instance.
+	 * @see SymbolFactory#create(Class)
+	 */
 	public static Symbol<?> getSymbol(
 		Class<? extends Symbol<?>> symbol
 	) {
-		try {
-			Constructor<? extends Symbol<?>> constructor = symbol.getConstructor();
-
-			return constructor.newInstance();
-		} catch (NoSuchMethodException | InvocationTargetException | IllegalAccessException | InstantiationException e) {
-			throw new IllegalStateException("Failed to create instance of symbol " + symbol.getName(), e);
-		}
+		return SymbolFactory.create(symbol);
 	}
 
+	/**
+	 * Reads all following symbols by recursing once per symbol read. Stack depth grows with the number of symbols in the document,
+	 * so large documents may overflow the stack. {@code LilacDecoder.lex(Document)} reads the same symbols iteratively.
+	 *
+	 * @param document Document to read
+	 * @param decoder Decoder holding parser context
+	 * @param symbols Stack of symbols read so far
+	 */
 	public void tryParseRecursive(
 		Document document,
 		TomlDecoder decoder,
@@ -71,7 +95,7 @@ public abstract class Symbol<T>
 		int position = document.getPointer();
 		for (Class<? extends Symbol<?>> symbolClass : this.getNextSymbols(decoder))
 		{
-			Symbol<?> symbol = getSymbol(symbolClass);
+			Symbol<?> symbol = SymbolFactory.create(symbolClass);
 			if (symbol.tryParse(document, decoder, symbols))
 			{
 				symbol.setPosition(position);
@@ -0,0 +1,420 @@
+/*
+ * Lilac, a Java TOML lanugage library
+ * Copyright (C) 2026 Hailey-Jane "Khyonie" Garrett
+ */
+package coffee.khyonieheart.lilac;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.List;
+import java.util.Objects;
+
+import coffee.khyonieheart.lilac.symbol.Symbol;
+import coffee.khyonieheart.lilac.symbol.SymbolType;
+import coffee.khyonieheart.lilac.symbol.TomlBoolean;
+import coffee.khyonieheart.lilac.symbol.TomlDecimal;
+import coffee.khyonieheart.lilac.symbol.TomlFloat;
+
+public class LilacCursor implements TomlCursor
+{
+	private final Document document;
+	private final LilacDecoder decoder;
+	private final LilacLexer lexer;
+
+	// Parser state
+	private final Deque<ParserContext> context = new ArrayDeque<>();
+	private final Deque<List<String>> containerPaths = new ArrayDeque<>(); // Paths of open arrays and inline tables
+	private List<String> tablePath = List.of();
+	private List<String> keyBase = List.of();
+	private List<String> keys = List.of();
+	private List<String> keyPath = null; // Built on request
+
+	private TomlToken token = null;
+	private Symbol<?> value = null;
+	private boolean held = false; // Set to return the current token again from next()
+
+	private boolean newlineRequired = false;
+	private SymbolType previousType = null;
+	private SymbolType headerEnd = null; // Set while reading the keys of a table or array of tables header
+
+	public LilacCursor(
+		String document,
+		TomlVersion version
+	) {
+		this(new Document(Objects.requireNonNull(document)), new LilacDecoder(version));
+	}
+
+	/**
+	 * Creates a cursor over the given document, read with the given decoder's TOML version and warning settings.
+	 *
+	 * @param document Document to read
+	 * @param decoder Decoder to read with
+	 */
+	public LilacCursor(
+		Document document,
+		LilacDecoder decoder
+	) {
+		this.document = Objects.requireNonNull(document);
+		this.decoder = Objects.requireNonNull(decoder);
+		this.lexer = decoder.createLexer(document);
+
+		context.push(ParserContext.ROOT);
+	}
+
+	@Override
+	public TomlToken next()
+	{
+		if (held)
+		{
+			held = false;
+			return token;
+		}
+
+		if (token == TomlToken.END_OF_DOCUMENT)
+		{
+			return token;
+		}
+
+		value = null;
+		keyPath = null;
+
+		while (true)
+		{
+			Symbol<?> symbol = nextSymbol();
+
+			// Filter unnecessary tokens
+			switch (symbol.getType())
+			{
+				case KEY_SEPARATOR, COMMENT, DOCUMENT_START -> { continue; }
+				default -> {}
+			}
+
+			SymbolType previousType = this.previousType;
+			this.previousType = symbol.getType();
+
+			// Table and array of tables header keys
+			if (headerEnd != null)
+			{
+				if (symbol.getType() == SymbolType.KEY)
+				{
+					keys.add((String) symbol.getValue());
+					continue;
+				}
+
+				if (symbol.getType() != headerEnd)
+				{
+					throw TomlSyntaxException.of("Unexpected symbol \"" + symbol.getValue() + "\"", document, symbol);
+				}
+
+				headerEnd = null;
+			}
+
+			switch (symbol.getType())
+			{
+				case KEY -> {
+					// Dotted keys continue the current key set
+					if (previousType == SymbolType.KEY)
+					{
+						keys.add((String) symbol.getValue());
+						continue;
+					}
+
+					if (context.peek() == ParserContext.ROOT && newlineRequired)
+					{
+						throw TomlSyntaxException.of("Key \"" + symbol.getValue() + "\" must have a newline or start of document preceeding it", document, symbol);
+					}
+
+					keyBase = containerPaths.isEmpty() ? tablePath : containerPaths.peek();
+					keys = new ArrayList<>();
+					keys.add((String) symbol.getValue());
+				}
+
+				// All keys of a key/value pair have been read
+				case EQUALS -> { return token = TomlToken.KEY; }
+
+				case VALUE -> {
+					if (context.peek() == ParserContext.ROOT)
+					{
+						newlineRequired = true;
+					}
+
+					if (context.peek() == ParserContext.ARRAY)
+					{
+						keyBase = containerPaths.peek();
+						keys = List.of();
+					}
+
+					value = symbol;
+					return token = TomlToken.VALUE;
+				}
+
+				case ARRAY_START -> {
+					startContainer(ParserContext.ARRAY);
+					return token = TomlToken.ARRAY_START;
+				}
+
+				case ARRAY_END -> {
+					endContainer();
+					return token = TomlToken.ARRAY_END;
+				}
+
+				case INLINE_TABLE_START -> {
+					startContainer(ParserContext.INLINE_TABLE);
+					return token = TomlToken.INLINE_TABLE_START;
+				}
+
+				case INLINE_TABLE_END -> {
+					endContainer();
+					return token = TomlToken.INLINE_TABLE_END;
+				}
+
+				case TABLE_START -> {
+					keys = new ArrayList<>();
+					headerEnd = SymbolType.TABLE_END;
+				}
+
+				case TABLE_END -> {
+					startTable();
+					return token = TomlToken.TABLE_HEADER;
+				}
+
+				case TABLE_ARRAY_START -> {
+					keys = new ArrayList<>();
+					headerEnd = SymbolType.TABLE_ARRAY_END;
+				}
+
+				case TABLE_ARRAY_END -> {
+					startTable();
+					return token = TomlToken.TABLE_ARRAY_HEADER;
+				}
+
+				case NEWLINE -> {
+					if (context.peek() == ParserContext.ROOT)
+					{
+						newlineRequired = false;
+					}
+				}
+
+				case DOCUMENT_END -> {
+					switch (context.peek())
+					{
+						case ROOT -> {}
+						case ARRAY -> throw TomlSyntaxException.of("Unterminated array", document);
+						case INLINE_TABLE -> throw TomlSyntaxException.of("Unterminated table", document);
+					}
+
+					keyBase = List.of();
+					keys = List.of();
+					return token = TomlToken.END_OF_DOCUMENT;
+				}
+
+				default -> {}
+			}
+		}
+	}
+
+	@Override
+	public TomlToken current()
+	{
+		return this.token;
+	}
+
+	@Override
+	public TomlCursor skipChildren()
+	{
+		if (token == null || held)
+		{
+			return this;
+		}
+
+		switch (token)
+		{
+			case ARRAY_START, INLINE_TABLE_START -> skipContainer();
+			case KEY -> {
+				if (next() == TomlToken.ARRAY_START || token == TomlToken.INLINE_TABLE_START)
+				{
+					skipContainer();
+				}
+			}
+			case TABLE_HEADER, TABLE_ARRAY_HEADER -> {
+				while (true)
+				{
+					switch (next())
+					{
+						case TABLE_HEADER, TABLE_ARRAY_HEADER, END_OF_DOCUMENT -> {
+							held = true;
+							return this;
+						}
+						default -> {}
+					}
+				}
+			}
+			default -> {}
+		}
+
+		return this;
+	}
+
+	@Override
+	public List<String> currentKeyPath()
+	{
+		if (keyPath == null)
+		{
+			if (keys.isEmpty())
+			{
+				keyPath = keyBase;
+			} else {
+				List<String> path = new ArrayList<>(keyBase.size() + keys.size());
+				path.addAll(keyBase);
+				path.addAll(keys);
+				keyPath = Collections.unmodifiableList(path);
+			}
+		}
+
+		return keyPath;
+	}
+
+	@Override
+	public Object value()
+	{
+		return requireValue().getValue();
+	}
+
+	@Override
+	public String stringValue()
+	{
+		Object value = requireValue().getValue();
+		if (!(value instanceof String))
+		{
+			throw new IllegalStateException("Current value is not a string");
+		}
+
+		return (String) value;
+	}
+
+	@Override
+	public long longValue()
+	{
+		Symbol<?> value = requireValue();
+		if (!(value instanceof TomlDecimal))
+		{
+			throw new IllegalStateException("Current value is not an integer");
+		}
+
+		return ((TomlDecimal) value).getLongValue();
+	}
+
+	@Override
+	public double doubleValue()
+	{
+		Symbol<?> value = requireValue();
+		if (value instanceof TomlFloat)
+		{
+			return ((TomlFloat) value).getDoubleValue();
+		}
+
+		if (value instanceof TomlDecimal)
+		{
+			return ((TomlDecimal) value).getLongValue();
+		}
+
+		throw new IllegalStateException("Current value is not a float or integer");
+	}
+
+	@Override
+	public boolean booleanValue()
+	{
+		Symbol<?> value = requireValue();
+		if (!(value instanceof TomlBoolean))
+		{
+			throw new IllegalStateException("Current value is not a boolean");
+		}
+
+		return ((TomlBoolean) value).getBooleanValue();
+	}
+
+	public LilacDecoder getDecoder()
+	{
+		return this.decoder;
+	}
+
+	//
+	// Parser state
+	//
+
+	/**
+	 * Takes the next symbol from the lexer. The most recently read symbol is only taken once lexing has stopped,
+	 * since the symbol after it may inspect it while being read. Text before the symbol taken is released from the document.
+	 */
+	private Symbol<?> nextSymbol()
+	{
+		Deque<Symbol<?>> symbols = lexer.getSymbols();
+		while (symbols.size() <= 1 && !lexer.isFinished())
+		{
+			if (!lexer.next())
+			{
+				lexer.requireEndOfDocument();
+			}
+		}
+
+		Symbol<?> symbol = symbols.removeLast();
+		document.release(symbol.getPosition());
+
+		return symbol;
+	}
+
+	private void startContainer(
+		ParserContext type
+	) {
+		List<String> path;
+		if (context.peek() == ParserContext.ARRAY)
+		{
+			path = containerPaths.peek();
+		} else {
+			keyPath = null;
+			path = currentKeyPath();
+		}
+
+		context.push(type);
+		containerPaths.push(path);
+		keyBase = path;
+		keys = List.of();
+		keyPath = null;
+	}
+
+	private void endContainer()
+	{
+		context.pop();
+		keyBase = containerPaths.pop();
+		keys = List.of();
+	}
+
+	private void startTable()
+	{
+		tablePath = Collections.unmodifiableList(keys);
+		keyBase = tablePath;
+		keys = List.of();
+		newlineRequired = true;
+	}
+
+	private void skipContainer()
+	{
+		int depth = context.size();
+		while (context.size() >= depth)
+		{
+			next();
+		}
+	}
+
+	private Symbol<?> requireValue()
+	{
+		if (token != TomlToken.VALUE)
+		{
+			throw new IllegalStateException("Current token " + token + " is not a value");
+		}
+
+		return this.value;
+	}
+}
@@ -6,573 +6,281 @@ package coffee.khyonieheart.lilac;
 
 import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Deque;
-import java.util.IdentityHashMap;
 import java.util.Iterator;
-import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Map.Entry;
 import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
 import java.util.function.BiConsumer;
+import java.util.function.Consumer;
 
-import coffee.khyonieheart.lilac.configuration.ArrayTypeContext;
-import coffee.khyonieheart.lilac.configuration.TableTypeContext;
-import coffee.khyonieheart.lilac.configuration.TomlLinkedHashMap;
 import coffee.khyonieheart.lilac.symbol.Symbol;
 import coffee.khyonieheart.lilac.symbol.SymbolType;
 import coffee.khyonieheart.lilac.symbol.TomlEndOfDocument;
-import coffee.khyonieheart.lilac.symbol.TomlStartOfDocument;
 
+/**
+ * Decodes TOML documents. A decoder holds no state while decoding, so one instance may decode any number of documents concurrently.
+ *
+ * Settings are kept in an immutable configuration, which is replaced by each setter. Every document is lexed by a session,
+ * a decoder created for that document alone which holds the lexer's context and the warnings already sent.
+ * Each warning is sent at most once per document. The warning handler may be called from several threads at once.
+ */
 public class LilacDecoder implements TomlDecoder
 {
-	private Deque<ParserContext> context = new ArrayDeque<>();
-	private boolean[] warnings = new boolean[TomlWarning.values().length];
-	private BiConsumer<TomlWarning, String> warningHandler = null;
-	private TomlVersion version;
+	private volatile Configuration configuration;
+
+	// Session state, unused by decoders which are not sessions
+	private final Deque<ParserContext> context = new ArrayDeque<>();
+	private final boolean[] warned; // Null if this decoder is not a session
+	private final LilacTimes.TemporalMemo temporalMemo; // Null if this decoder is not a session
+
+	private static final int MINIMUM_SECTION_LENGTH = 1 << 16;
 
 	public LilacDecoder(
 		TomlVersion version
 	) {
-		this.version = Objects.requireNonNull(version);
-		this.enableWarnings(TomlWarning.values());
+		boolean[] warnings = new boolean[TomlWarning.values().length];
+		Arrays.fill(warnings, true);
+
+		this.configuration = new Configuration(Objects.requireNonNull(version), warnings, null, null, false);
+		this.warned = null;
+		this.temporalMemo = null;
+	}
+
+	/**
+	 * Creates a session which reads one document with the given configuration.
+	 */
+	private LilacDecoder(
+		Configuration configuration
+	) {
+		this.configuration = configuration;
+		this.warned = new boolean[TomlWarning.values().length];
+		this.temporalMemo = new LilacTimes.TemporalMemo();
 	}
 
 	@Override
 	public Map<String, Object> decode(Document document) 
 	{
-		context.clear();
-
-		// Lexical analysis
-		Symbol<?> documentStart = new TomlStartOfDocument();
-		Deque<Symbol<?>> symbols = new ArrayDeque<>();
-		symbols.push(documentStart);
-
-		if (!document.hasNext())
-		{
-			symbols.push(new TomlEndOfDocument());
-		} else {
-			documentStart.tryParseRecursive(document, this, symbols);
-		}
+		Configuration configuration = this.configuration;
 
-		if (symbols.peek().getClass() != TomlEndOfDocument.class)
+		// Only documents held in memory can be split
+		if (configuration.pool() != null && document.getClass() == Document.class)
 		{
-			StringBuilder builder = new StringBuilder();
-			Iterator<Class<? extends Symbol<?>>> iter = symbols.peek().getNextSymbols(this).iterator();
-			while (iter.hasNext())
+			Map<String, Object> decoded = this.decodeParallel(document, configuration);
+			if (decoded != null)
 			{
-				builder.append(Symbol.getSymbol(iter.next()).getClass().getSimpleName());
-
-				if (iter.hasNext())
-				{
-					builder.append(", ");
-				}
+				return decoded;
 			}
-
-			while (document.getPointer() >= document.getDocument().length())
-			{
-				document.hold();
-			}
-
-			throw TomlSyntaxException.of("Expected one of [ " + builder.toString() + " ], found \"" + document.getCharAtPointer() + "\"", document);
 		}
 
-		return parse(document, symbols);
-	}
+		// Lexical analysis, with each symbol parsed as soon as the symbol after it has been read
+		LilacParser parser = new LilacParser(document);
+		LilacLexer lexer = new LilacLexer(document, new LilacDecoder(configuration));
+		this.lex(lexer, document, parser::accept);
+		lexer.requireEndOfDocument();
 
-	private Map<String, Object> parse(
-		Document document,
-		Deque<Symbol<?>> originalSymbols
-	) {
-		// Parser setup
-		Deque<ParserContext> context = new ArrayDeque<>();
-		context.push(ParserContext.ROOT);
-		Deque<Map<String, Object>> openMap = new ArrayDeque<>();
-
-		TomlLinkedHashMap rootMap = new TomlLinkedHashMap();
-		openMap.push(rootMap); // Set up root table
-
-		Deque<List<Object>> openArray = new ArrayDeque<>();
-		Deque<Deque<String>> openKeySet = new ArrayDeque<>();
-
-		// Language rules
-		Map<List<Object>, ArrayTypeContext> arrayTypes = new IdentityHashMap<>();
-		Map<Map<String, Object>, TableTypeContext> tableTypes = new IdentityHashMap<>();
-
-		rootMap.setContext(tableTypes, arrayTypes);
-		
-		// Filter unnecessary tokens
-		Deque<Symbol<?>> symbols = new ArrayDeque<>(
-			originalSymbols.stream()
-			.filter((symbol) -> {
-				return switch (symbol.getType()) {
-					case KEY_SEPARATOR -> false;
-					case COMMENT -> false;
-					case EQUALS -> false;
-					case DOCUMENT_START -> false;
-					case DOCUMENT_END -> false;
-					default -> true;
-				};
-			}
-			).toList())
-			.reversed();
+		Deque<Symbol<?>> symbols = lexer.getSymbols();
 
-		// Begin parsing
-		boolean newlineRequired = false;
-		Symbol<?> symbol = null;
-		Symbol<?> symbolStarting = null; // Start symbol for when a symbol needs to process its own following (I.E tables)
 		while (!symbols.isEmpty())
 		{
-			switch (context.peek())
-			{
-				//
-				// Root context
-				//
-				case ROOT -> {
-					symbol = symbols.pop();
-					switch (symbol.getType())
-					{
-						// Take all keys and push them onto the stack
-						case KEY -> {
-							if (newlineRequired)
-							{
-								throw TomlSyntaxException.of("Key \"" + symbol.getValue() + "\" must have a newline or start of document preceeding it", document.getDocument(), symbol);
-							}
-
-							openKeySet.push(new ArrayDeque<>());
-							openKeySet.peek().push((String) symbol.getValue());
-							while (symbols.peek().getType() == SymbolType.KEY)
-							{
-								symbol = symbols.pop();
-								openKeySet.peek().push((String) symbol.getValue());
-							}
-						}
-
-						// Take value and put it in top map
-						case VALUE -> {
-							newlineRequired = true;
-							try {
-								put(openMap.peek(), tableTypes, arrayTypes, KeyPlaceContext.VALUE, TableTypeContext.KEY_VALUE_IMPLICIT, openKeySet.pop(), symbol.getValue());
-							} catch (TomlRedefineKeyException e) {
-								throw TomlSyntaxException.of(e.getMessage(), document.getDocument(), symbol, e);
-							}
-						}
-
-						// Set up new array
-						case ARRAY_START -> {
-							openArray.push(new ArrayList<>());
-							context.push(ParserContext.ARRAY);
-						}
-
-						// Set up new table
-						case INLINE_TABLE_START -> {
-							openMap.push(new LinkedHashMap<>());
-							openKeySet.push(new ArrayDeque<>());
-							context.push(ParserContext.INLINE_TABLE);
-						}
-
-						// Set up new array of tables
-						case TABLE_ARRAY_START -> {
-							openKeySet.push(new ArrayDeque<>());
-							while (symbols.peek().getType() != SymbolType.TABLE_ARRAY_END)
-							{
-								switch (symbols.peek().getType())
-								{
-									case KEY -> {}
-									case KEY_SEPARATOR -> {}
-									default -> throw TomlSyntaxException.of("Unexpected symbol \"" + symbols.peek().getValue() + "\"", document.getDocument(), symbols.peek());
-								}
-								openKeySet.peek().push((String) symbols.pop().getValue());
-							}
-						}
-
-						// Attempt to create or target existing array
-						case TABLE_ARRAY_END -> {
-							Deque<String> keys = openKeySet.pop();
-							Map<String, Object> topMap = new LinkedHashMap<>();
-
-							// Strip down to root configuration
-							while (openMap.size() > 1)
-							{
-								openMap.pop();
-							}
-
-							if (!openArray.isEmpty())
-							{
-								openArray.pop();
-							}
-
-							openArray.push(getOrPutArray(openMap.peek(), tableTypes, arrayTypes, keys));
-							openArray.peek().add(topMap);
-							openMap.push(topMap);
-							newlineRequired = true;
-						}
-
-						// Set up new table keys
-						case TABLE_START -> {
-							openKeySet.push(new ArrayDeque<>());
-							symbolStarting = symbol;
-							while (symbols.peek().getType() != SymbolType.TABLE_END)
-							{
-								switch (symbols.peek().getType())
-								{
-									case KEY -> {}
-									case KEY_SEPARATOR -> {}
-									default -> throw TomlSyntaxException.of("Unexpected symbol \"" + symbols.peek().getValue() + "\"", document.getDocument(), symbols.peek());
-								}
-								openKeySet.peek().push((String) symbols.pop().getValue());
-							}
-						}
-
-						// Take keys and set the top map to the new map
-						case TABLE_END -> {
-							if (openMap.size() > 1)
-							{
-								openMap.pop();
-							}
-							Deque<String> keys = openKeySet.pop();
-							Map<String, Object> topMap = new LinkedHashMap<>();
-							try {
-								Map<String, Object> existing = put(openMap.peek(), tableTypes, arrayTypes, KeyPlaceContext.TABLE, TableTypeContext.EXPLICIT, keys, topMap);
-								openMap.push(existing == null ? topMap : existing);
-							} catch (TomlRedefineKeyException e) {
-								throw TomlSyntaxException.of(e.getMessage(), document.getDocument(), symbolStarting, e);
-							}
-
-							newlineRequired = true;
-						}
-
-						case COMMENT -> {
-
-						}
-
-						case NEWLINE -> newlineRequired = false;
-						default -> throw new IllegalStateException("Invalid type \"" + symbol.getType().name() + "\" in root context");
-					}
-				}
-
-				//
-				// Inline table context
-				//
-				case INLINE_TABLE -> {
-					symbol = symbols.pop();
-					switch (symbol.getType())
-					{
-						// Take all keys and push them onto the stack
-						case KEY -> {
-							openKeySet.push(new ArrayDeque<>());
-							openKeySet.peek().push((String) symbol.getValue());
-							while (symbols.peek().getType() == SymbolType.KEY)
-							{
-								symbol = symbols.pop();
-								openKeySet.peek().push((String) symbol.getValue());
-							}
-						}
-
-						// Take value and put it in top map
-						case VALUE -> {
-							try {
-								put(openMap.peek(), tableTypes, arrayTypes, KeyPlaceContext.VALUE, TableTypeContext.KEY_VALUE_IMPLICIT, openKeySet.pop(), symbol.getValue());
-							} catch (TomlRedefineKeyException e) {
-								throw TomlSyntaxException.of(e.getMessage(), document.getDocument(), symbol, e);
-							}
-						}
-
-						// Set up new table
-						case INLINE_TABLE_START -> {
-							openMap.push(new LinkedHashMap<>());
-							openKeySet.push(new ArrayDeque<>());
-							context.push(ParserContext.INLINE_TABLE);
-						}
-
-						// Take table and put it in target destination
-						case INLINE_TABLE_END -> {
-							Map<String, Object> table = openMap.pop();
-							openKeySet.pop();
-							context.pop();
-
-							switch (context.peek())
-							{
-								case ARRAY -> openArray.peek().add(table);
-								default -> {
-									try {
-										put(openMap.peek(), tableTypes, arrayTypes, KeyPlaceContext.VALUE, TableTypeContext.INLINE, openKeySet.pop(), table);
-									} catch (TomlRedefineKeyException e) {
-										throw TomlSyntaxException.of(e.getMessage(), document.getDocument(), symbol, e);
-									}
-								}
-							}
-						}
-
-						// Set up new array
-						case ARRAY_START -> {
-							openArray.push(new ArrayList<>());
-							context.push(ParserContext.ARRAY);
-						}
-						case NEWLINE -> {}
-						case ARRAY_SEPARATOR -> {}
-						default -> throw new IllegalStateException("Invalid type \"" + symbol.getType().name() + "\" in inline table context");
-					}
-				}
-
-				//
-				// Array context
-				//
-				case ARRAY -> {
-					symbol = symbols.pop();
-					switch (symbol.getType())
-					{
-						// Take value and put it in top map
-						case VALUE -> openArray.peek().add(symbol.getValue());
-
-						// Set up new table
-						case INLINE_TABLE_START -> {
-							openMap.push(new LinkedHashMap<>());
-							openKeySet.push(new ArrayDeque<>());
-							context.push(ParserContext.INLINE_TABLE);
-						}
-
-						// Set up new array
-						case ARRAY_START -> {
-							openArray.push(new ArrayList<>());
-							context.push(ParserContext.ARRAY);
-						}
-
-						// Take array and put it in target destination
-						case ARRAY_END -> {
-							List<Object> array = openArray.pop();
-							context.pop();
-
-							switch (context.peek())
-							{
-								case ARRAY -> openArray.peek().add(array);
-								default -> {
-									try {
-										put(openMap.peek(), tableTypes, arrayTypes, KeyPlaceContext.VALUE, TableTypeContext.KEY_VALUE_IMPLICIT, openKeySet.pop(), array);
-									} catch (TomlRedefineKeyException e) {
-										throw TomlSyntaxException.of(e.getMessage(), document.getDocument(), symbol, e);
-									}
-								}
-							}
-						}
-						case NEWLINE -> {}
-						case ARRAY_SEPARATOR -> {}
-						default -> throw new IllegalStateException("Invalid type \"" + symbol.getType().name() + "\" in array context");
-					}
-				}
-			}
-		}
-
-		switch (context.peek())
-		{
-			case ROOT -> {}
-			case ARRAY -> throw TomlSyntaxException.of("Unterminated array", document);
-			case INLINE_TABLE -> throw TomlSyntaxException.of("Unterminated table", document);
+			parser.accept(symbols.removeLast());
 		}
 
-		return openMap.removeLast();
+		return parser.finish();
 	}
 
-	private static String keysToString(
-		Deque<String> keys
+	/**
+	 * Lexes sections of a document concurrently, each starting at a top-level table header, see {@link LilacSections}.
+	 * Symbols are then parsed in document order by a single parser, so keys and tables are merged by the same rules as when decoding sequentially.
+	 * Warnings are collected from each section and sent in document order once the document has been read.
+	 *
+	 * @param document Document to read, held entirely in memory
+	 * @param configuration Configuration to read with
+	 *
+	 * @return A map representing the given document, or null if the document could not be split or read in sections.
+	 * Errors are then found by reading the document sequentially, so that the first error in the document is reported at its true position.
+	 */
+	private Map<String, Object> decodeParallel(
+		Document document,
+		Configuration configuration
 	) {
-		StringBuilder builder = new StringBuilder();
-		Deque<String> keysCopy = new ArrayDeque<>(keys).reversed();
-
-		while (!keysCopy.isEmpty())
+		String text = document.getDocument();
+		int[] starts = LilacSections.split(text, MINIMUM_SECTION_LENGTH);
+		if (starts.length < 2)
 		{
-			builder.append(keysCopy.pop());
-
-			if (!keysCopy.isEmpty())
-			{
-				builder.append('.');
-			}
+			return null;
 		}
 
-		return builder.toString();
-	}
-
-	@SuppressWarnings("unchecked")
-	private static List<Object> getOrPutArray(
-		Map<String, Object> map,
-		Map<Map<String, Object>, TableTypeContext> tableTypes,
-		Map<List<Object>, ArrayTypeContext> arrayTypes,
-		Deque<String> keys
-	) {
-		Deque<String> keysCopy = new ArrayDeque<>(keys).reversed();
-
-		Map<String, Object> targetMap = map;
-		String key;
-		while (keysCopy.size() > 1)
-		{
-			key = keysCopy.pop();
-			if (!targetMap.containsKey(key))
+		List<List<Entry<TomlWarning, String>>> warnings = new ArrayList<>();
+		List<ForkJoinTask<Deque<Symbol<?>>>> sections = new ArrayList<>();
+		Map<String, Object> decoded;
+		try {
+			for (int i = 0; i < starts.length; i++)
 			{
-				Map<String, Object> nextMap = new LinkedHashMap<>();
-				targetMap.put(key, nextMap);
-				targetMap = nextMap;
-				tableTypes.put(nextMap, TableTypeContext.TABLE_IMPLICIT);
-				continue;
+				List<Entry<TomlWarning, String>> sectionWarnings = new ArrayList<>();
+				Document section = new LilacSections.SectionDocument(text, starts[i], (i + 1 < starts.length) ? starts[i + 1] : text.length());
+
+				warnings.add(sectionWarnings);
+				boolean first = (i == 0);
+				Configuration sectionConfiguration = configuration.withWarningHandler((warning, message) -> sectionWarnings.add(Map.entry(warning, message)));
+				sections.add(configuration.pool().submit(() -> lexSection(section, first, sectionConfiguration)));
 			}
 
-			// Target array of tables
-			if (targetMap.get(key) instanceof List)
+			LilacParser parser = new LilacParser(document);
+			for (int i = 0; i < sections.size(); i++)
 			{
-				Object target = ((List<Object>) targetMap.get(key)).getLast();
+				Deque<Symbol<?>> symbols = sections.get(i).join();
+				sections.set(i, null);
 
-				if (!(target instanceof Map))
+				while (!symbols.isEmpty())
 				{
-					throw new TomlRedefineKeyException("Cannot redefine existing key \"" + keysToString(keys) + "\" with value of type " + targetMap.get(key).getClass() + " as an array");
+					parser.accept(symbols.removeLast());
 				}
-
-				targetMap = (Map<String, Object>) target;
-				continue;
 			}
 
-			if (!(targetMap.get(key) instanceof Map))
+			decoded = parser.finish();
+		} catch (RuntimeException e) {
+			return null;
+		} finally {
+			for (ForkJoinTask<Deque<Symbol<?>>> section : sections)
 			{
-				throw new TomlRedefineKeyException("Cannot redefine existing key \"" + keysToString(keys) + "\" with value of type " + targetMap.get(key).getClass() + " as a table");
+				if (section != null)
+				{
+					section.cancel(false);
+				}
 			}
-
-			targetMap = (Map<String, Object>) targetMap.get(key);
 		}
 
-		key = keysCopy.pop();
-		if (targetMap.containsKey(key))
+		// Sections each send their own warnings once, so send them through one session
+		LilacDecoder session = new LilacDecoder(configuration);
+		for (List<Entry<TomlWarning, String>> sectionWarnings : warnings)
 		{
-			if (targetMap.get(key) instanceof List)
+			for (Entry<TomlWarning, String> warning : sectionWarnings)
 			{
-				if (arrayTypes.get((List<Object>) targetMap.get(key)) != ArrayTypeContext.ARRAY_OF_TABLES)
-				{
-					throw new TomlRedefineKeyException("Cannot extend regular array \"" + key + "\" as an array of tables");
-				}
-				return (List<Object>) targetMap.get(key);
+				session.sendWarning(warning.getKey(), warning.getValue());
 			}
-
-			throw new TomlRedefineKeyException("Cannot redefine existing key \"" + keysToString(keys) + "\" with value of type " + targetMap.get(key).getClass() + " as an array");
 		}
 
-		List<Object> array = new ArrayList<>();
-		targetMap.put(key, array);
-		arrayTypes.put(array, ArrayTypeContext.ARRAY_OF_TABLES);
-		return array;
+		return decoded;
 	}
 
-	@SuppressWarnings("unchecked")
-	private static Map<String, Object> put(
-		Map<String, Object> root,
-		Map<Map<String, Object>, TableTypeContext> tableTypes,
-		Map<List<Object>, ArrayTypeContext> arrayTypes,
-		KeyPlaceContext keyContext,
-		TableTypeContext tableContext,
-		Deque<String> keys,
-		Object value
+	/**
+	 * Lexes one section of a document in a session of its own.
+	 *
+	 * @param first Whether or not this is the first section. Every other section must start with a header.
+	 *
+	 * @throws TomlSyntaxException Thrown if the section cannot be read on its own.
+	 */
+	private static Deque<Symbol<?>> lexSection(
+		Document section,
+		boolean first,
+		Configuration configuration
 	) {
-		Deque<String> keysCopy = new ArrayDeque<>(keys).reversed();
+		LilacLexer lexer = new LilacLexer(section, new LilacDecoder(configuration));
+		while (lexer.next()) {}
+		lexer.requireEndOfDocument();
 
-		Map<String, Object> targetMap = root;
-		TableTypeContext previousTableContext = null;
-		String key;
-		while (keysCopy.size() > 1)
+		// Sections must end outside of any array or inline table
+		ParserContext context = lexer.getDecoder().getContext();
+		if (context != null)
 		{
-			key = keysCopy.pop();
-			if (!targetMap.containsKey(key))
-			{
-				Map<String, Object> nextMap = new LinkedHashMap<>();
-				targetMap.put(key, nextMap);
-				targetMap = nextMap;
-
-				tableTypes.put(nextMap, tableContext == TableTypeContext.EXPLICIT ? TableTypeContext.TABLE_IMPLICIT : TableTypeContext.KEY_VALUE_IMPLICIT);
-				previousTableContext = tableTypes.get(nextMap);
-				continue;
-			}
-
-			// Target array of tables
-			if (targetMap.get(key) instanceof List)
-			{
-				Object target = ((List<Object>) targetMap.get(key)).getLast();
-
-				if (!(target instanceof Map))
-				{
-					throw new TomlRedefineKeyException("Cannot redefine existing key \"" + keysToString(keys) + "\" with value of type " + targetMap.get(key).getClass() + " as an array");
-				}
-
-				if (!arrayTypes.containsKey(targetMap.get(key)) || arrayTypes.get(targetMap.get(key)) != ArrayTypeContext.ARRAY_OF_TABLES)
-				{
-					throw new TomlRedefineKeyException("Cannot extend static table \"" + key + "\"");
-				}
-
-				targetMap = (Map<String, Object>) target;
+			throw TomlSyntaxException.of("Section ended inside " + context, section);
+		}
 
-				if (keyContext == KeyPlaceContext.VALUE)
-				{
-					throw new TomlRedefineKeyException("Cannot redefine existing array of tables \"" + key + "\" outside of an array-of-tables definition");
-				}
-				continue;
-			}
+		Deque<Symbol<?>> symbols = lexer.getSymbols();
+		if (!first)
+		{
+			Iterator<Symbol<?>> iter = symbols.descendingIterator();
+			iter.next(); // Start of document
 
-			if (!(targetMap.get(key) instanceof Map))
+			SymbolType header = iter.hasNext() ? iter.next().getType() : null;
+			if (header != SymbolType.TABLE_START && header != SymbolType.TABLE_ARRAY_START)
 			{
-				throw new TomlRedefineKeyException("Cannot redefine existing key \"" + keysToString(keys) + "\" with value of type " + targetMap.get(key).getClass() + " as a table");
+				throw TomlSyntaxException.of("Section does not start with a table header", section);
 			}
+		}
 
-			if (tableTypes.get((Map<String, Object>) targetMap.get(key)) == TableTypeContext.INLINE)
-			{
-				throw new TomlRedefineKeyException("Cannot extend inline table \"" + key + "\"");
-			}
+		return symbols;
+	}
 
-			if (tableContext == TableTypeContext.KEY_VALUE_IMPLICIT && previousTableContext == TableTypeContext.TABLE_IMPLICIT && tableTypes.get(targetMap.get(key)) == TableTypeContext.EXPLICIT)
-			{
-				throw new TomlRedefineKeyException("Dotted keys cannot insert into already defined explicit tables, see https://github.com/toml-lang/toml/issues/846");
-			}
+	/**
+	 * Reads a document into a stack of symbols, with the most recently read symbol on top.
+	 * Lexing stops at the end of the document, or at the first position where no symbol could be read.
+	 *
+	 * Symbols are read in a flat loop, so stack depth does not grow with the number of symbols in the document.
+	 * Only symbols which may start with the next character are tried, see {@link LilacLexer}.
+	 *
+	 * @param document Document to read
+	 *
+	 * @return A stack of all symbols read.
+	 * @throws TomlSyntaxException Thrown if a symbol is malformed.
+	 */
+	public Deque<Symbol<?>> lex(
+		Document document
+	) {
+		return this.lex(document, null).getSymbols();
+	}
 
-			previousTableContext = tableTypes.get(targetMap.get(key));
+	/**
+	 * Reads a document into a stack of symbols. If a consumer is given, every symbol below the top of the stack is removed and given to it,
+	 * oldest first, as soon as the next symbol has been read. Only the most recently read symbols are then kept, since symbols only
+	 * inspect the top of the stack while parsing.
+	 *
+	 * The document is read in a new session, see {@link #createLexer(Document)}.
+	 *
+	 * @param document Document to read
+	 * @param consumer Consumer for symbols which have been read. May be null.
+	 *
+	 * @return The lexer, holding the symbols read and not yet consumed.
+	 */
+	LilacLexer lex(
+		Document document,
+		Consumer<Symbol<?>> consumer
+	) {
+		LilacLexer lexer = this.createLexer(document);
+		this.lex(lexer, document, consumer);
 
-			targetMap = (Map<String, Object>) targetMap.get(key);
-		}
+		return lexer;
+	}
 
-		key = keysCopy.pop();
-		if (targetMap.containsKey(key))
+	private void lex(
+		LilacLexer lexer,
+		Document document,
+		Consumer<Symbol<?>> consumer
+	) {
+		Deque<Symbol<?>> symbols = lexer.getSymbols();
+		while (lexer.next())
 		{
-			if (targetMap.get(key) instanceof Map && value instanceof Map)
+			if (consumer != null)
 			{
-				Map<String, Object> target = (Map<String, Object>) targetMap.get(key);
-				if (tableTypes.get(target) == TableTypeContext.TABLE_IMPLICIT && tableContext != TableTypeContext.EXPLICIT)
-				{
-					throw new TomlRedefineKeyException("Duplicate table \"" + keysToString(keys) + "\"");
-				}
-
-				if (tableTypes.get(target) == TableTypeContext.KEY_VALUE_IMPLICIT && tableContext == TableTypeContext.EXPLICIT)
+				while (symbols.size() > 1)
 				{
-					throw new TomlRedefineKeyException("Cannot extend an implicitly created table \"" + key + "\" with an explicit table definition");
+					consumer.accept(symbols.removeLast());
 				}
 
-				if (tableTypes.get(target) == TableTypeContext.EXPLICIT && tableContext == TableTypeContext.EXPLICIT)
-				{
-					throw new TomlRedefineKeyException("Duplicate explicit table \"" + key + "\"");
-				}
-
-				if (tableContext == TableTypeContext.INLINE)
-				{
-					throw new TomlRedefineKeyException("Cannot redefine implicitly defined table \"" + key + "\" as an inline table");
-				}
-
-				tableTypes.put((Map<String, Object>) targetMap.get(key), TableTypeContext.EXPLICIT);
-				return (Map<String, Object>) targetMap.get(key);
+				// Consumed symbols are never reported in errors again
+				document.release(symbols.peek().getPosition());
 			}
-			throw new TomlRedefineKeyException("Cannot redefine existing key \"" + key + "\" with value of type " + targetMap.get(key).getClass().getName() + " as value with type " + value.getClass().getName());
 		}
+	}
 
-		if (value instanceof Map)
-		{
-			tableTypes.put((Map<String, Object>) value, tableContext);
-		}
+	/**
+	 * Creates a lexer for the given document, which reads it in a new session.
+	 *
+	 * @param document Document to read
+	 *
+	 * @return A new lexer.
+	 */
+	LilacLexer createLexer(
+		Document document
+	) {
+		Objects.requireNonNull(document);
 
-		if (value instanceof List)
-		{
-			arrayTypes.put((List<Object>) value, ArrayTypeContext.REGULAR);
-		}
-		targetMap.put(key, value);
-		return null;
+		return new LilacLexer(document, new LilacDecoder(this.configuration));
 	}
 
 	@Override
@@ -596,10 +304,7 @@ public class LilacDecoder implements TomlDecoder
 	@Override
 	public TomlDecoder disableWarnings(TomlWarning... warnings) 
 	{
-		for (TomlWarning lint : warnings)
-		{
-			this.warnings[lint.ordinal()] = false;
-		}
+		this.configuration = this.configuration.withWarnings(warnings, false);
 
 		return this;
 	}
@@ -607,10 +312,7 @@ public class LilacDecoder implements TomlDecoder
 	@Override
 	public TomlDecoder enableWarnings(TomlWarning... warnings) 
 	{
-		for (TomlWarning lint : warnings)
-		{
-			this.warnings[lint.ordinal()] = true;
-		}
+		this.configuration = this.configuration.withWarnings(warnings, true);
 
 		return this;
 	}
@@ -620,13 +322,13 @@ public class LilacDecoder implements TomlDecoder
 	{
 		Objects.requireNonNull(warningType);
 
-		return this.warnings[warningType.ordinal()];
+		return this.configuration.warnings()[warningType.ordinal()];
 	}
 
 	@Override
 	public TomlDecoder setTomlVersion(TomlVersion version) 
 	{
-		this.version = Objects.requireNonNull(version);
+		this.configuration = this.configuration.withVersion(Objects.requireNonNull(version));
 
 		return this;
 	}
@@ -634,33 +336,147 @@ public class LilacDecoder implements TomlDecoder
 	@Override
 	public TomlVersion getVersion() 
 	{
-		return this.version;
+		return this.configuration.version();
+	}
+
+	@Override
+	public LilacDecoder setDoublePrecision(
+		boolean doublePrecision
+	) {
+		this.configuration = this.configuration.withDoublePrecision(doublePrecision);
+
+		return this;
+	}
+
+	@Override
+	public boolean isDoublePrecision()
+	{
+		return this.configuration.doublePrecision();
+	}
+
+	/**
+	 * Sets whether or not to lex documents held in memory in sections on the common pool, see {@link #setParallel(ForkJoinPool)}.
+	 *
+	 * @param parallel Whether or not to decode in parallel
+	 *
+	 * @return This decoder instance.
+	 */
+	public LilacDecoder setParallel(
+		boolean parallel
+	) {
+		return this.setParallel(parallel ? ForkJoinPool.commonPool() : null);
+	}
+
+	/**
+	 * Lexes documents held in memory in sections on the given pool, or sequentially if null. Sections start at top-level table headers,
+	 * and are only split from documents large enough to benefit. The decoded map, and any errors, are the same as when decoding sequentially.
+	 * Invalid documents are read again sequentially to find the first error.
+	 *
+	 * @param pool Pool to lex on. May be null.
+	 *
+	 * @return This decoder instance.
+	 */
+	public LilacDecoder setParallel(
+		ForkJoinPool pool
+	) {
+		this.configuration = this.configuration.withPool(pool);
+
+		return this;
 	}
 
 	@Override
 	public LilacDecoder setWarningHandler(BiConsumer<TomlWarning, String> handler) 
 	{
-		this.warningHandler = handler;
+		this.configuration = this.configuration.withWarningHandler(handler);
 
 		return this;
 	}
 
+	/**
+	 * Sends a warning to the warning handler. Sessions send each type of warning at most once.
+	 */
 	@Override
 	public void sendWarning(TomlWarning warning, String message) 
 	{
 		Objects.requireNonNull(warning);
 		Objects.requireNonNull(message);
 
-		if (this.warningHandler != null)
+		if (this.warned != null)
+		{
+			if (this.warned[warning.ordinal()])
+			{
+				return;
+			}
+
+			this.warned[warning.ordinal()] = true;
+		}
+
+		BiConsumer<TomlWarning, String> warningHandler = this.configuration.warningHandler();
+		if (warningHandler != null)
 		{
-			this.warningHandler.accept(warning, message);
+			warningHandler.accept(warning, message);
 		}
 	}
 
-	private static enum KeyPlaceContext
+	/**
+	 * Gets the last date/time literal recognized in this session, see {@link LilacTimes#tryTemporal(Document, TomlDecoder, Class)}.
+	 *
+	 * @return The session's memo, or null if this decoder is not a session.
+	 */
+	LilacTimes.TemporalMemo getTemporalMemo()
 	{
-		TABLE,
-		VALUE
-		;
+		return this.temporalMemo;
+	}
+
+	/**
+	 * Settings shared by every session of a decoder. Never modified once created, so sessions may read it from any thread.
+	 *
+	 * @param warnings Whether or not each warning is enabled, by ordinal. Never modified.
+	 * @param warningHandler May be null.
+	 * @param pool Pool to lex sections of documents on, or null to decode sequentially.
+	 */
+	private static record Configuration(
+		TomlVersion version,
+		boolean[] warnings,
+		BiConsumer<TomlWarning, String> warningHandler,
+		ForkJoinPool pool,
+		boolean doublePrecision
+	) {
+		private Configuration withWarnings(
+			TomlWarning[] changed,
+			boolean enabled
+		) {
+			boolean[] warnings = this.warnings.clone();
+			for (TomlWarning lint : changed)
+			{
+				warnings[lint.ordinal()] = enabled;
+			}
+
+			return new Configuration(version, warnings, warningHandler, pool, doublePrecision);
+		}
+
+		private Configuration withWarningHandler(
+			BiConsumer<TomlWarning, String> warningHandler
+		) {
+			return new Configuration(version, warnings, warningHandler, pool, doublePrecision);
+		}
+
+		private Configuration withVersion(
+			TomlVersion version
+		) {
+			return new Configuration(version, warnings, warningHandler, pool, doublePrecision);
+		}
+
+		private Configuration withPool(
+			ForkJoinPool pool
+		) {
+			return new Configuration(version, warnings, warningHandler, pool, doublePrecision);
+		}
+
+		private Configuration withDoublePrecision(
+			boolean doublePrecision
+		) {
+			return new Configuration(version, warnings, warningHandler, pool, doublePrecision);
+		}
 	}
 }
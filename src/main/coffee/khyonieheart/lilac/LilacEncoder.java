@@ -4,17 +4,22 @@
  */ 
 package coffee.khyonieheart.lilac;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.time.OffsetDateTime;
 import java.util.ArrayDeque;
+import java.util.ArrayList;
 import java.util.Deque;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
-import java.util.regex.Pattern;
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
 
 import coffee.khyonieheart.lilac.configuration.ArrayTypeContext;
 import coffee.khyonieheart.lilac.configuration.TableTypeContext;
@@ -35,134 +40,317 @@ public class LilacEncoder implements TomlEncoder
 	private boolean breakArrays   = false; // Whether or not to break array values onto separate lines
 	private boolean newlineTables = true; // Whether or not to put a newline before table headers
 
+	private ForkJoinPool pool = null; // Pool to encode top-level tables on, or null to encode sequentially
+
 	@Override
 	public String encode(Map<String, Object> data) 
 	{
 		StringBuilder builder = new StringBuilder();
-		encode(data, data, new ArrayDeque<>(), builder);
+		try {
+			encode(data, builder);
+		} catch (IOException e) {
+			throw new UncheckedIOException(e); // Never thrown by StringBuilder
+		}
 
 		return builder.toString();
 	}
 
-	@SuppressWarnings("unchecked")
-	private void encode(
+	@Override
+	public void encode(
+		Map<String, Object> data,
+		Appendable output
+	) throws
+		IOException
+	{
+		Objects.requireNonNull(output);
+
+		if (pool != null && data.size() > 1)
+		{
+			encodeParallel(data, output);
+			return;
+		}
+
+		encode(data, data, new ArrayDeque<>(), false, output);
+	}
+
+	/**
+	 * Encodes the keys and tables of the given table.
+	 *
+	 * @param written Whether or not anything has been written to the output yet
+	 *
+	 * @return Whether or not anything has been written to the output after this table.
+	 */
+	private boolean encode(
 		Map<String, Object> rootData,
 		Map<String, Object> data,
 		Deque<String> keys,
-		StringBuilder builder
-	) {
-		int maxKeyLength = Integer.MIN_VALUE;
+		boolean written,
+		Appendable output
+	) throws
+		IOException
+	{
+		int maxKeyLength = getMaxKeyLength(data);
 
-		// If we want to align equals in columns, we need to find the longest key length;
-		if (alignEquals)
+		for (Entry<String, Object> entry : data.entrySet())
 		{
-			for (String key : data.keySet())
+			written = encodeEntry(rootData, entry.getKey(), entry.getValue(), keys, written, maxKeyLength, output);
+		}
+
+		return written;
+	}
+
+	/**
+	 * Encodes the top-level table in sections, each ending with a table or array of tables, on this encoder's pool.
+	 * Sections are encoded into their own buffers and written to the output in order, so the output is the same as when encoding sequentially.
+	 */
+	private void encodeParallel(
+		Map<String, Object> data,
+		Appendable output
+	) throws
+		IOException
+	{
+		int maxKeyLength = getMaxKeyLength(data);
+		List<ForkJoinTask<StringBuilder>> sections = new ArrayList<>();
+
+		try {
+			List<Entry<String, Object>> section = new ArrayList<>();
+			boolean written = false;
+			boolean sectionWrites = false;
+			for (Entry<String, Object> entry : data.entrySet())
 			{
-				if (key.length() > maxKeyLength)
+				section.add(entry);
+
+				Object value = entry.getValue();
+				boolean isArrayOfTables = isArrayOfTables(data, value);
+
+				// Empty arrays of tables are the only entries which write nothing
+				sectionWrites |= !(isArrayOfTables && ((List<?>) value).isEmpty());
+
+				if (isArrayOfTables || isTable(data, value))
 				{
-					maxKeyLength = key.length();
+					sections.add(submitSection(data, section, written, maxKeyLength));
+					section = new ArrayList<>();
+					written |= sectionWrites;
+					sectionWrites = false;
 				}
 			}
-		}
 
-		for (String key : data.keySet())
-		{
-			Object value = data.get(key);
-			
-			if (value instanceof Map)
+			if (!section.isEmpty())
 			{
-				if ((rootData instanceof TomlLinkedHashMap && ((TomlLinkedHashMap) rootData).getTableType((Map<String, Object>) value) != TableTypeContext.INLINE) || !(rootData instanceof TomlLinkedHashMap))
+				sections.add(submitSection(data, section, written, maxKeyLength));
+			}
+
+			for (int i = 0; i < sections.size(); i++)
+			{
+				output.append(sections.get(i).join());
+				sections.set(i, null);
+			}
+		} finally {
+			for (ForkJoinTask<StringBuilder> section : sections)
+			{
+				if (section != null)
 				{
-					keys.push(key);
-					
-					if (newlineTables && !builder.isEmpty())
-					{
-						builder.append('\n');
-					}
+					section.cancel(false);
+				}
+			}
+		}
+	}
 
-					builder.append(encodeTableHeader(keys))
-						.append('\n');
-					encode(rootData, (Map<String, Object>) value, keys, builder);
+	private ForkJoinTask<StringBuilder> submitSection(
+		Map<String, Object> rootData,
+		List<Entry<String, Object>> entries,
+		boolean written,
+		int maxKeyLength
+	) {
+		return pool.submit(() -> {
+			StringBuilder builder = new StringBuilder();
+			Deque<String> keys = new ArrayDeque<>();
 
-					keys.pop();
-					continue;
-				}
+			boolean sectionWritten = written;
+			for (Entry<String, Object> entry : entries)
+			{
+				sectionWritten = encodeEntry(rootData, entry.getKey(), entry.getValue(), keys, sectionWritten, maxKeyLength, builder);
 			}
 
-			// Array of tables
-			if (value instanceof List)
+			return builder;
+		});
+	}
+
+	/**
+	 * Encodes a single key of a table, which may be a table or array of tables.
+	 *
+	 * @param written Whether or not anything has been written to the output yet
+	 *
+	 * @return Whether or not anything has been written to the output after this entry.
+	 */
+	@SuppressWarnings("unchecked")
+	private boolean encodeEntry(
+		Map<String, Object> rootData,
+		String key,
+		Object value,
+		Deque<String> keys,
+		boolean written,
+		int maxKeyLength,
+		Appendable output
+	) throws
+		IOException
+	{
+		if (isTable(rootData, value))
+		{
+			keys.push(key);
+			
+			if (newlineTables && written)
 			{
-				if (rootData instanceof TomlLinkedHashMap && ((TomlLinkedHashMap) rootData).getArrayType((List<Object>) value) == ArrayTypeContext.ARRAY_OF_TABLES)
-				{
-					keys.push(key);
-					encodeArrayOfTables(rootData, (List<Map<String, Object>>) value, keys, builder);
-					keys.pop();
-					continue;
-				}
+				output.append('\n');
 			}
 
-			builder.append(sanitizeKey(key));
+			encodeTableHeader(keys, output);
+			output.append('\n');
+			written = encode(rootData, (Map<String, Object>) value, keys, true, output);
+
+			keys.pop();
+			return written;
+		}
 
-			// Handle column alignment
-			if (alignEquals)
+		// Array of tables
+		if (isArrayOfTables(rootData, value))
+		{
+			keys.push(key);
+			written = encodeArrayOfTables(rootData, (List<Map<String, Object>>) value, keys, written, output);
+			keys.pop();
+			return written;
+		}
+
+		sanitizeKey(key, output);
+
+		// Handle column alignment
+		if (alignEquals)
+		{
+			repeat(' ', maxKeyLength - key.length(), output);
+		}
+
+		output.append(" = ");
+		encodeValue(rootData, value, 0, output);
+		output.append('\n');
+
+		return true;
+	}
+
+	/**
+	 * Gets the length of the longest key in the given table, if equals signs are aligned.
+	 */
+	private int getMaxKeyLength(
+		Map<String, Object> data
+	) {
+		int maxKeyLength = Integer.MIN_VALUE;
+
+		// If we want to align equals in columns, we need to find the longest key length;
+		if (alignEquals)
+		{
+			for (String key : data.keySet())
 			{
-				builder.append(" ".repeat(maxKeyLength - key.length()));
+				if (key.length() > maxKeyLength)
+				{
+					maxKeyLength = key.length();
+				}
 			}
+		}
 
-			builder.append(" = ")
-				.append(encodeValue(rootData, value, 0))
-				.append('\n');
+		return maxKeyLength;
+	}
+
+	/**
+	 * Gets whether the given value is written as a table with a header.
+	 */
+	@SuppressWarnings("unchecked")
+	private static boolean isTable(
+		Map<String, Object> rootData,
+		Object value
+	) {
+		if (!(value instanceof Map))
+		{
+			return false;
 		}
+
+		return !(rootData instanceof TomlLinkedHashMap) || ((TomlLinkedHashMap) rootData).getTableType((Map<String, Object>) value) != TableTypeContext.INLINE;
+	}
+
+	/**
+	 * Gets whether the given value is written as an array of tables.
+	 */
+	@SuppressWarnings("unchecked")
+	private static boolean isArrayOfTables(
+		Map<String, Object> rootData,
+		Object value
+	) {
+		return value instanceof List && rootData instanceof TomlLinkedHashMap && ((TomlLinkedHashMap) rootData).getArrayType((List<Object>) value) == ArrayTypeContext.ARRAY_OF_TABLES;
 	}
 
 	/** Branch method which takes any TOML-spec type and calls the appropriate encoder method. */
 	@SuppressWarnings("unchecked")
-	private String encodeValue(
+	private void encodeValue(
 		Map<String, Object> rootData,
 		Object object,
-		int tabDepth
-	) {
+		int tabDepth,
+		Appendable output
+	) throws
+		IOException
+	{
 		if (object instanceof Map)
 		{
-			return encodeTableInline(rootData, (Map<String, Object>) object, tabDepth + 1);
+			encodeTableInline(rootData, (Map<String, Object>) object, tabDepth + 1, output);
+			return;
 		}
 
 		if (object instanceof List)
 		{
-			return encodeArray(rootData, (List<Object>) object, tabDepth + 1);
+			encodeArray(rootData, (List<Object>) object, tabDepth + 1, output);
+			return;
 		}
 
 		if (object instanceof String)
 		{
-			return encodeString((String) object);
+			encodeString((String) object, output);
+			return;
 		}
 
 		if (object instanceof Float)
 		{
-			return encodeFloat((float) object);
+			encodeFloat((float) object, output);
+			return;
+		}
+
+		if (object instanceof Double)
+		{
+			encodeDouble((double) object, output);
+			return;
 		}
 
 		if (object instanceof OffsetDateTime)
 		{
-			return encodeOffsetDateTime((OffsetDateTime) object);
+			LilacTimes.writeOffsetDateTime((OffsetDateTime) object, output);
+			return;
 		}
 
 		if (object instanceof LocalDateTime)
 		{
-			return encodeDateTime((LocalDateTime) object);
+			LilacTimes.writeDateTime((LocalDateTime) object, output);
+			return;
 		}
 
 		if (object instanceof LocalDate)
 		{
-			return encodeDate((LocalDate) object);
+			LilacTimes.writeDate((LocalDate) object, output);
+			return;
 		}
 
 		if (object instanceof LocalTime)
 		{
-			return encodeTime((LocalTime) object);
+			LilacTimes.writeTime((LocalTime) object, output);
+			return;
 		}
 
-		return object.toString();
+		output.append(object.toString());
 	}
 
 	// --------------------------------------------------
@@ -170,100 +358,116 @@ public class LilacEncoder implements TomlEncoder
 	// --------------------------------------------------
 	
 	/**
-	 * Encodes a string.
+	 * Encodes a string. Strings with quotes or control characters are written as basic strings, others as literal strings.
 	 */
-	private String encodeString(
-		String string
-	) {
-		if (string.contains("\n"))
+	private void encodeString(
+		String string,
+		Appendable output
+	) throws
+		IOException
+	{
+		int flags = classify(string);
+		boolean needsEscaping = (flags & (CONTROL | QUOTE | APOSTROPHE)) != 0;
+
+		if ((flags & NEWLINE) != 0)
 		{
-			if (containsControlCharacter(string))
+			String delimiter = needsEscaping ? "\"\"\"" : "'''";
+			output.append(delimiter);
+
+			// A newline directly after the opening delimiter is trimmed
+			if (string.charAt(0) == '\n')
+			{
+				output.append('\n');
+			}
+
+			if (needsEscaping)
 			{
-				return "\"\"\"" + escapeControlCharacters(string) + "\"\"\"";
+				escape(string, false, output);
+			} else {
+				output.append(string);
 			}
 
-			return "'''" + string + "'''";
+			output.append(delimiter);
+			return;
 		}
 
-		if (containsControlCharacter(string))
+		if (needsEscaping)
 		{
-			return "\"" + escapeControlCharacters(string) + "\"";
+			output.append('"');
+			escape(string, true, output);
+			output.append('"');
+			return;
 		}
 
-		return "'" + string + "'";
+		output.append('\'').append(string).append('\'');
 	}
 
-	private String encodeFloat(
-		float f32
-	) {
+	private void encodeFloat(
+		float f32,
+		Appendable output
+	) throws
+		IOException
+	{
 		if (f32 == Float.POSITIVE_INFINITY)
 		{
-			return "+inf";
+			output.append("+inf");
+			return;
 		}
 
 		if (f32 == Float.NEGATIVE_INFINITY)
 		{
-			return "-inf";
+			output.append("-inf");
+			return;
 		}
 
 		if (f32 != f32)
 		{
-			return "nan";
+			output.append("nan");
+			return;
 		}
 
-		return Float.toString(f32);
+		output.append(Float.toString(f32));
 	}
 
-	/**
-	 * Encodes a table header.
-	 */
-	private String encodeTableHeader(
-		Deque<String> keys
-	) {
-		StringBuilder builder = new StringBuilder();
-		builder.append(TABLE_HEADER_START)
-			.append(keysToString(keys))
-			.append(TABLE_HEADER_END);
-
-		return builder.toString();
-	}
-
-	private String encodeOffsetDateTime(
-		OffsetDateTime odt
-	) {
-		return encodeDateTime(odt.toLocalDateTime()) + odt.getOffset().toString();
-	}
-
-	private String encodeDateTime(
-		LocalDateTime ldt
-	) {
-		return encodeDate(ldt.toLocalDate()) + "T" + encodeTime(ldt.toLocalTime());
-	}
+	private void encodeDouble(
+		double f64,
+		Appendable output
+	) throws
+		IOException
+	{
+		if (f64 == Double.POSITIVE_INFINITY)
+		{
+			output.append("+inf");
+			return;
+		}
 
-	private String encodeDate(
-		LocalDate date
-	) {
-		String year = Integer.toString(date.getYear());
-		while (year.length() < 4)
+		if (f64 == Double.NEGATIVE_INFINITY)
 		{
-			year = "0" + year;
+			output.append("-inf");
+			return;
 		}
 
-		String month = (date.getMonthValue() >= 10 ? "" : "0") + date.getMonthValue(); 
-		String day = (date.getDayOfMonth() >= 10 ? "" : "0") + date.getDayOfMonth();
+		if (f64 != f64)
+		{
+			output.append("nan");
+			return;
+		}
 
-		return year + "-" + month + "-" + day;
+		output.append(Double.toString(f64));
 	}
 
-	private String encodeTime(
-		LocalTime time
-	) {
-		String hours = (time.getHour() >= 10 ? "" : "0") + time.getHour();
-		String minutes = (time.getMinute() >= 10 ? "" : "0") + time.getMinute();
-		String seconds = (time.getSecond() >= 10 ? "" : "0") + time.getSecond();
-		int nanos = time.getNano() / 1000000;
-
-		return hours + ":" + minutes + ":" + seconds + (nanos == 0 ? "" : "." + nanos);
+	/**
+	 * Encodes a table header.
+	 */
+	private void encodeTableHeader(
+		Deque<String> keys,
+		Appendable output
+	) throws
+		IOException
+	{
+		output.append(TABLE_HEADER_START);
+		encodeKeys(keys, output);
+		output.append(TABLE_HEADER_END);
 	}
 
 	// --------------------------------------------------
@@ -272,39 +476,48 @@ public class LilacEncoder implements TomlEncoder
 
 	/**
 	 * Encodes an array of tables.
+	 *
+	 * @return Whether or not anything has been written to the output after this array.
 	 */
-	private void encodeArrayOfTables(
+	private boolean encodeArrayOfTables(
 		Map<String, Object> rootData,
 		List<Map<String, Object>> data,
 		Deque<String> keys,
-		StringBuilder builder
-	) {
+		boolean written,
+		Appendable output
+	) throws
+		IOException
+	{
 		for (Map<String, Object> table : data)
 		{
-			if (!builder.isEmpty() && newlineTables)
+			if (written && newlineTables)
 			{
-				builder.append('\n');
+				output.append('\n');
 			}
 
-			builder.append(ARRAY_OF_TABLES_START)
-				.append(keysToString(keys))
-				.append(ARRAY_OF_TABLES_END)
+			output.append(ARRAY_OF_TABLES_START);
+			encodeKeys(keys, output);
+			output.append(ARRAY_OF_TABLES_END)
 				.append('\n');
 
-			encode(rootData, table, keys, builder);
+			written = encode(rootData, table, keys, true, output);
 		}
+
+		return written;
 	}
 
 	/** 
 	 * Encodes an inline table.
 	 */
-	private String encodeTableInline(
+	private void encodeTableInline(
 		Map<String, Object> rootData,
 		Map<String, Object> table,
-		int tabDepth
-	) {
-		StringBuilder builder = new StringBuilder();
-		builder.append(INLINE_TABLE_START);
+		int tabDepth,
+		Appendable output
+	) throws
+		IOException
+	{
+		output.append(INLINE_TABLE_START);
 
 		Iterator<Entry<String, Object>> entryIter = table.entrySet().iterator();
 		while (entryIter.hasNext())
@@ -313,64 +526,62 @@ public class LilacEncoder implements TomlEncoder
 			String key = entry.getKey();
 			Object value = entry.getValue();
 
-			builder.append(sanitizeKey(key))
-				.append(" = ")
-				.append(encodeValue(rootData, value, tabDepth + 1));
+			sanitizeKey(key, output);
+			output.append(" = ");
+			encodeValue(rootData, value, tabDepth + 1, output);
 
 			if (entryIter.hasNext())
 			{
-				builder.append(", ");
+				output.append(", ");
 			}
 		}
 
-		builder.append(INLINE_TABLE_END);
-
-		return builder.toString();
+		output.append(INLINE_TABLE_END);
 	}
 
 	/**
 	 * Encodes a regular array.
 	 */
-	private String encodeArray(
+	private void encodeArray(
 		Map<String, Object> rootData,
 		List<Object> array,
-		int tabDepth
-	) {
-		StringBuilder builder = new StringBuilder();
-		builder.append(TABLE_HEADER_START);
+		int tabDepth,
+		Appendable output
+	) throws
+		IOException
+	{
+		output.append(TABLE_HEADER_START);
 
 		if (breakArrays && !array.isEmpty())
 		{
-			builder.append('\n');
-			builder.append("\t".repeat(tabDepth));
+			output.append('\n');
+			repeat('\t', tabDepth, output);
 		}
 
 		Iterator<Object> iter = array.iterator();
 		while (iter.hasNext())
 		{
 			Object object = iter.next();
-			builder.append(encodeValue(rootData, object, tabDepth));
+			encodeValue(rootData, object, tabDepth, output);
 
 			if (iter.hasNext())
 			{
-				builder.append(", ");
+				output.append(", ");
 				if (breakArrays)
 				{
-					builder.append('\n');
-					builder.append("\t".repeat(tabDepth));
+					output.append('\n');
+					repeat('\t', tabDepth, output);
 				}
 			}
 		}
 
 		if (breakArrays && !array.isEmpty())
 		{
-			builder.append('\n');
-			builder.append("\t".repeat(tabDepth - 1));
+			output.append('\n');
+			repeat('\t', tabDepth - 1, output);
 		}
 
-		builder.append(TABLE_HEADER_END);
-
-		return builder.toString();
+		output.append(TABLE_HEADER_END);
 	}
 
 	//
@@ -398,128 +609,183 @@ public class LilacEncoder implements TomlEncoder
 		return this;
 	}
 
+	/**
+	 * Sets whether or not to encode top-level tables in parallel on the common pool. Output is the same either way.
+	 */
+	public LilacEncoder setParallel(
+		boolean parallel
+	) {
+		this.pool = parallel ? ForkJoinPool.commonPool() : null;
+		return this;
+	}
+
+	/**
+	 * Encodes top-level tables in parallel on the given pool, or sequentially if null. Output is the same either way.
+	 */
+	public LilacEncoder setParallel(
+		ForkJoinPool pool
+	) {
+		this.pool = pool;
+		return this;
+	}
+
 	//
 	// Utility
 	//
 	
-	private static final Pattern BARE_KEY_PATTERN = Pattern.compile("[a-zA-Z0-9_-]+");
-
-	private static String sanitizeKey(
-		String key
-	) {
+	// String classes, see classify()
+	private static final int NOT_BARE   = 1; // Not allowed in bare keys
+	private static final int NEWLINE    = 2;
+	private static final int CONTROL    = 4; // Control characters other than newlines
+	private static final int QUOTE      = 8;
+	private static final int APOSTROPHE = 16;
+	private static final int BACKSLASH  = 32;
+
+	private static final char[] HEX_DIGITS = "0123456789ABCDEF".toCharArray();
+
+	private static void sanitizeKey(
+		String key,
+		Appendable output
+	) throws
+		IOException
+	{
 		if (key.length() == 0)
 		{
-			return "\"\"";
+			output.append("\"\"");
+			return;
 		}
 
-		if (!BARE_KEY_PATTERN.matcher(key).matches() || key.startsWith("-") || Character.isDigit(key.charAt(0)))
+		int flags = classify(key);
+		char first = key.charAt(0);
+
+		if ((flags & NOT_BARE) == 0 && first != '-' && (first < '0' || first > '9'))
 		{
-			key = key.replace("\n", "\\n")
-				.replace("\b", "\\b")
-				.replace("\t", "\\t")
-				.replace("\n", "\\n")
-				.replace("\f", "\\f");
+			output.append(key);
+			return;
+		}
 
-			if (key.contains("\""))
-			{
-				return "'" + key + "'";
-			}
-			
-			return "\"" + key.replace("\n", "\\n") + "\"";
+		// Literal keys avoid escaping quotes and backslashes, but cannot hold apostrophes or control characters
+		if ((flags & (QUOTE | BACKSLASH)) != 0 && (flags & (APOSTROPHE | CONTROL | NEWLINE)) == 0)
+		{
+			output.append('\'').append(key).append('\'');
+			return;
 		}
-		
-		return key;
+
+		output.append('"');
+		escape(key, true, output);
+		output.append('"');
 	}
 
-	private static boolean containsControlCharacter(
+	/**
+	 * Scans a string once, finding which kinds of characters it contains.
+	 */
+	private static int classify(
 		String string
 	) {
-		for (char c : string.toCharArray())
+		int flags = 0;
+		for (int i = 0; i < string.length(); i++)
 		{
-			if (c == '\n')
+			char c = string.charAt(i);
+			if ((c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9') || c == '_' || c == '-')
 			{
 				continue;
 			}
 
-			if (Character.getType((int) c) == Character.CONTROL)
-			{
-				return true;
-			}
-
+			flags |= NOT_BARE;
 			switch (c)
 			{
-				case '\'' -> { return true; }
-				case '"' -> { return true; }
-				default -> { continue; }
+				case '\n' -> flags |= NEWLINE;
+				case '"' -> flags |= QUOTE;
+				case '\'' -> flags |= APOSTROPHE;
+				case '\\' -> flags |= BACKSLASH;
+				default -> {
+					if (c < ' ' || c == '\u007F')
+					{
+						flags |= CONTROL;
+					}
+				}
 			}
 		}
 
-		return false;
+		return flags;
 	}
 
-	private static String escapeControlCharacters(
-		String string
-	) {
-		StringBuilder builder = new StringBuilder();
-
-		boolean isEscaped = false;
-		for (char c : string.toCharArray())
+	/**
+	 * Writes the contents of a basic string, escaping quotes, backslashes and control characters.
+	 * Runs of characters which do not need escaping are written at once.
+	 *
+	 * @param escapeNewlines Whether or not to escape newlines, which may only appear in multi-line strings
+	 */
+	private static void escape(
+		String string,
+		boolean escapeNewlines,
+		Appendable output
+	) throws
+		IOException
+	{
+		int start = 0;
+		for (int i = 0; i < string.length(); i++)
 		{
-			switch (c)
+			char c = string.charAt(i);
+			if (c >= ' ' && c != '"' && c != '\\' && c != '\u007F')
 			{
-				case '\b' -> builder.append("\\b"); // Backspace
-				case '\t' -> builder.append("\\t"); // Tab
-				case '\f' -> builder.append("\\f");
-				case '\r' -> builder.append("\\r"); 
-				case '\0' -> builder.append("\\u0000");
-				case '\u001B' -> builder.append("\\e");
-				case '\u007F' -> builder.append("\\u007F");
-				case '\u001F' -> builder.append("\\u001F");
-				case '"' -> {
-					if (isEscaped)
-					{
-						builder.append('"');
-						isEscaped = false;
-						continue;
-					}
+				continue;
+			}
 
-					builder.append("\\\"");
-				}
-				case '\\' -> {
-					if (isEscaped)
-					{
-						builder.append("\\\\");
-						isEscaped = false;
-						continue;
-					}
-					isEscaped = true;
-					continue;
-				}
-				default -> builder.append(c);
+			if (c == '\n' && !escapeNewlines)
+			{
+				continue;
 			}
 
-			isEscaped = false;
+			output.append(string, start, i);
+			start = i + 1;
+
+			switch (c)
+			{
+				case '"' -> output.append("\\\"");
+				case '\\' -> output.append("\\\\");
+				case '\b' -> output.append("\\b");
+				case '\t' -> output.append("\\t");
+				case '\n' -> output.append("\\n");
+				case '\f' -> output.append("\\f");
+				case '\r' -> output.append("\\r");
+				default -> output.append("\\u00")
+					.append(HEX_DIGITS[c >> 4])
+					.append(HEX_DIGITS[c & 0xF]);
+			}
 		}
 
-		return builder.toString();
+		output.append(string, start, string.length());
 	}
 
-
-	private static String keysToString(
-		Deque<String> keys
-	) {
-		if (keys.isEmpty())
+	private static void encodeKeys(
+		Deque<String> keys,
+		Appendable output
+	) throws
+		IOException
+	{
+		Iterator<String> iter = keys.descendingIterator();
+		while (iter.hasNext())
 		{
-			return "";
+			sanitizeKey(iter.next(), output);
+
+			if (iter.hasNext())
+			{
+				output.append(KEY_SEPARATOR);
+			}
 		}
+	}
 
-		StringBuilder builder = new StringBuilder();
-		for (String key : keys.reversed())
+	private static void repeat(
+		char c,
+		int count,
+		Appendable output
+	) throws
+		IOException
+	{
+		for (int i = 0; i < count; i++)
 		{
-			builder.append(sanitizeKey(key));
-			builder.append(KEY_SEPARATOR);
+			output.append(c);
 		}
-
-		return builder.substring(0, builder.length() - 1);
 	}
 }
@@ -0,0 +1,253 @@
+/*
+ * Lilac, a Java TOML lanugage library
+ * Copyright (C) 2026 Hailey-Jane "Khyonie" Garrett
+ */
+package coffee.khyonieheart.lilac;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.List;
+import java.util.Objects;
+
+import coffee.khyonieheart.lilac.symbol.Symbol;
+import coffee.khyonieheart.lilac.symbol.SymbolType;
+
+/**
+ * Turns symbols into {@link TomlHandler} events, one symbol at a time, in the order they were read.
+ * Follows the same contexts as {@link LilacParser}, but keeps no record of the document's contents.
+ */
+class LilacEventParser
+{
+	private final Document document;
+	private final TomlHandler handler;
+
+	// Parser state
+	private final Deque<ParserContext> context = new ArrayDeque<>();
+	private List<String> keys = null;
+
+	private boolean newlineRequired = false;
+	private SymbolType previousType = null;
+	private SymbolType headerEnd = null; // Set while reading the keys of a table or array of tables header
+
+	LilacEventParser(
+		Document document,
+		TomlHandler handler
+	) {
+		this.document = Objects.requireNonNull(document);
+		this.handler = Objects.requireNonNull(handler);
+
+		context.push(ParserContext.ROOT);
+	}
+
+	/**
+	 * Gives the next symbol to this parser.
+	 *
+	 * @param symbol Next symbol in the document
+	 *
+	 * @throws TomlSyntaxException Thrown if the symbol is not valid at this location.
+	 */
+	void accept(
+		Symbol<?> symbol
+	) {
+		// Filter unnecessary tokens
+		switch (symbol.getType())
+		{
+			case KEY_SEPARATOR, COMMENT, EQUALS, DOCUMENT_START, DOCUMENT_END -> { return; }
+			default -> {}
+		}
+
+		SymbolType previousType = this.previousType;
+		this.previousType = symbol.getType();
+
+		// Table and array of tables header keys
+		if (headerEnd != null)
+		{
+			if (symbol.getType() == SymbolType.KEY)
+			{
+				keys.add((String) symbol.getValue());
+				return;
+			}
+
+			if (symbol.getType() != headerEnd)
+			{
+				throw TomlSyntaxException.of("Unexpected symbol \"" + symbol.getValue() + "\"", document, symbol);
+			}
+
+			headerEnd = null;
+		}
+
+		// Dotted keys continue the current key set
+		if (symbol.getType() == SymbolType.KEY && previousType == SymbolType.KEY)
+		{
+			keys.add((String) symbol.getValue());
+			return;
+		}
+
+		switch (context.peek())
+		{
+			case ROOT -> acceptRoot(symbol);
+			case INLINE_TABLE -> acceptInlineTable(symbol);
+			case ARRAY -> acceptArray(symbol);
+		}
+	}
+
+	/**
+	 * Finishes parsing once all symbols have been given.
+	 *
+	 * @throws TomlSyntaxException Thrown if an array or inline table is left unterminated.
+	 */
+	void finish()
+	{
+		switch (context.peek())
+		{
+			case ROOT -> {}
+			case ARRAY -> throw TomlSyntaxException.of("Unterminated array", document);
+			case INLINE_TABLE -> throw TomlSyntaxException.of("Unterminated table", document);
+		}
+	}
+
+	//
+	// Root context
+	//
+
+	private void acceptRoot(
+		Symbol<?> symbol
+	) {
+		switch (symbol.getType())
+		{
+			// Start a new key set
+			case KEY -> {
+				if (newlineRequired)
+				{
+					throw TomlSyntaxException.of("Key \"" + symbol.getValue() + "\" must have a newline or start of document preceeding it", document, symbol);
+				}
+
+				startKeys(symbol);
+			}
+
+			case VALUE -> {
+				newlineRequired = true;
+				handler.keyValue(takeKeys(), symbol.getValue());
+			}
+
+			case ARRAY_START -> {
+				handler.startArray(takeKeys());
+				context.push(ParserContext.ARRAY);
+			}
+
+			case INLINE_TABLE_START -> {
+				handler.startInlineTable(takeKeys());
+				context.push(ParserContext.INLINE_TABLE);
+			}
+
+			// Set up new array of tables keys
+			case TABLE_ARRAY_START -> {
+				keys = new ArrayList<>();
+				headerEnd = SymbolType.TABLE_ARRAY_END;
+			}
+
+			case TABLE_ARRAY_END -> {
+				handler.startArrayOfTables(takeKeys());
+				newlineRequired = true;
+			}
+
+			// Set up new table keys
+			case TABLE_START -> {
+				keys = new ArrayList<>();
+				headerEnd = SymbolType.TABLE_END;
+			}
+
+			case TABLE_END -> {
+				handler.startTable(takeKeys());
+				newlineRequired = true;
+			}
+
+			case NEWLINE -> newlineRequired = false;
+			default -> throw new IllegalStateException("Invalid type \"" + symbol.getType().name() + "\" in root context");
+		}
+	}
+
+	//
+	// Inline table context
+	//
+
+	private void acceptInlineTable(
+		Symbol<?> symbol
+	) {
+		switch (symbol.getType())
+		{
+			case KEY -> startKeys(symbol);
+			case VALUE -> handler.keyValue(takeKeys(), symbol.getValue());
+
+			case INLINE_TABLE_START -> {
+				handler.startInlineTable(takeKeys());
+				context.push(ParserContext.INLINE_TABLE);
+			}
+
+			case INLINE_TABLE_END -> {
+				handler.endInlineTable();
+				context.pop();
+			}
+
+			case ARRAY_START -> {
+				handler.startArray(takeKeys());
+				context.push(ParserContext.ARRAY);
+			}
+			case NEWLINE -> {}
+			case ARRAY_SEPARATOR -> {}
+			default -> throw new IllegalStateException("Invalid type \"" + symbol.getType().name() + "\" in inline table context");
+		}
+	}
+
+	//
+	// Array context
+	//
+
+	private void acceptArray(
+		Symbol<?> symbol
+	) {
+		switch (symbol.getType())
+		{
+			case VALUE -> handler.arrayValue(symbol.getValue());
+
+			case INLINE_TABLE_START -> {
+				handler.startInlineTable(null);
+				context.push(ParserContext.INLINE_TABLE);
+			}
+
+			case ARRAY_START -> {
+				handler.startArray(null);
+				context.push(ParserContext.ARRAY);
+			}
+
+			case ARRAY_END -> {
+				handler.endArray();
+				context.pop();
+			}
+			case NEWLINE -> {}
+			case ARRAY_SEPARATOR -> {}
+			default -> throw new IllegalStateException("Invalid type \"" + symbol.getType().name() + "\" in array context");
+		}
+	}
+
+	//
+	// Keys
+	//
+
+	private void startKeys(
+		Symbol<?> symbol
+	) {
+		keys = new ArrayList<>();
+		keys.add((String) symbol.getValue());
+	}
+
+	private List<String> takeKeys()
+	{
+		List<String> keys = Collections.unmodifiableList(this.keys);
+		this.keys = null;
+
+		return keys;
+	}
+}
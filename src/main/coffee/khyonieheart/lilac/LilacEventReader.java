@@ -0,0 +1,62 @@
+/*
+ * Lilac, a Java TOML lanugage library
+ * Copyright (C) 2026 Hailey-Jane "Khyonie" Garrett
+ */
+package coffee.khyonieheart.lilac;
+
+import java.util.Deque;
+import java.util.Objects;
+
+import coffee.khyonieheart.lilac.symbol.Symbol;
+
+public class LilacEventReader implements TomlEventReader
+{
+	private final LilacDecoder decoder;
+
+	public LilacEventReader(
+		TomlVersion version
+	) {
+		this(new LilacDecoder(version));
+	}
+
+	/**
+	 * Creates an event reader which reads documents with the given decoder's TOML version and warning settings.
+	 *
+	 * @param decoder Decoder to read with
+	 */
+	public LilacEventReader(
+		LilacDecoder decoder
+	) {
+		this.decoder = Objects.requireNonNull(decoder);
+	}
+
+	@Override
+	public void read(
+		Document document, 
+		TomlHandler handler
+	) {
+		Objects.requireNonNull(document);
+		Objects.requireNonNull(handler);
+
+		LilacEventParser parser = new LilacEventParser(document, handler);
+		handler.startDocument();
+
+		LilacLexer lexer = decoder.lex(document, parser::accept);
+		lexer.requireEndOfDocument();
+
+		Deque<Symbol<?>> symbols = lexer.getSymbols();
+
+		while (!symbols.isEmpty())
+		{
+			parser.accept(symbols.removeLast());
+		}
+
+		parser.finish();
+		handler.endDocument();
+	}
+
+	public LilacDecoder getDecoder()
+	{
+		return this.decoder;
+	}
+}
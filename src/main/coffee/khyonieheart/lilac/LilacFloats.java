@@ -0,0 +1,252 @@
+/*
+ * Lilac, a Java TOML lanugage library
+ * Copyright (C) 2026 Hailey-Jane "Khyonie" Garrett
+ */
+package coffee.khyonieheart.lilac;
+
+import java.math.BigInteger;
+
+/**
+ * Converts decimal floats to correctly rounded doubles and floats without building a string, for literals whose digits have already been read.
+ *
+ * Small values which are exactly representable are converted with Clinger's fast path. Other values use the Eisel-Lemire algorithm,
+ * which multiplies the significand by a 128-bit approximation of a power of five. The few values it cannot decide, along with
+ * subnormals and values too large for a double, are left to {@link Double#parseDouble(String)}.
+ */
+public class LilacFloats
+{
+	/** Maximum number of significant digits which fit in an unsigned 64-bit significand. */
+	public static final int MAXIMUM_DIGITS = 19;
+
+	private static final long MAXIMUM_EXACT_SIGNIFICAND = 1L << 53;
+	private static final int MAXIMUM_EXACT_POWER = 22;
+	private static final double[] POWERS_OF_TEN = {
+		1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+		1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+	};
+
+	private static final int SMALLEST_POWER = -342;
+	private static final int LARGEST_POWER = 308;
+
+	private static final int MANTISSA_BITS = 52;
+	private static final long PRECISION_MASK = -1L >>> (MANTISSA_BITS + 3);
+	private static final int EXPONENT_BIAS = 1023;
+	private static final int INFINITE_POWER = 0x7FF;
+
+	/**
+	 * Converts a significand and a decimal exponent to the nearest double.
+	 *
+	 * @param significand Unsigned significand of at most {@link #MAXIMUM_DIGITS} digits
+	 * @param exponent Power of ten to multiply the significand by
+	 *
+	 * @return The nearest double, or NaN if it cannot be found without parsing the literal.
+	 */
+	public static double toDouble(
+		long significand,
+		int exponent
+	) {
+		if (significand == 0)
+		{
+			return 0.0;
+		}
+
+		// Clinger's fast path: both the significand and the power of ten are exact doubles, so one rounding gives the nearest double
+		if (Long.compareUnsigned(significand, MAXIMUM_EXACT_SIGNIFICAND) <= 0)
+		{
+			if (exponent >= 0 && exponent <= MAXIMUM_EXACT_POWER)
+			{
+				return significand * POWERS_OF_TEN[exponent];
+			}
+
+			if (exponent < 0 && exponent >= -MAXIMUM_EXACT_POWER)
+			{
+				return significand / POWERS_OF_TEN[-exponent];
+			}
+
+			// Small significands may take some of a larger exponent and stay exact
+			if (exponent > MAXIMUM_EXACT_POWER && exponent <= MAXIMUM_EXACT_POWER + 15)
+			{
+				long shifted = significand;
+				for (int i = MAXIMUM_EXACT_POWER; i < exponent && shifted <= MAXIMUM_EXACT_SIGNIFICAND; i++)
+				{
+					shifted *= 10;
+				}
+
+				if (shifted <= MAXIMUM_EXACT_SIGNIFICAND)
+				{
+					return shifted * POWERS_OF_TEN[MAXIMUM_EXACT_POWER];
+				}
+			}
+		}
+
+		return eiselLemire(significand, exponent);
+	}
+
+	/**
+	 * Converts a significand of more than {@link #MAXIMUM_DIGITS} digits, of which only the first were kept. The result is only known if
+	 * rounding the kept digits and the kept digits plus one give the same double.
+	 *
+	 * @param significand Unsigned significand of the first {@link #MAXIMUM_DIGITS} digits
+	 * @param exponent Power of ten to multiply the significand by
+	 *
+	 * @return The nearest double, or NaN if it cannot be found without parsing the literal.
+	 */
+	public static double toDoubleTruncated(
+		long significand,
+		int exponent
+	) {
+		double lower = toDouble(significand, exponent);
+		if (lower != lower || lower != toDouble(significand + 1, exponent))
+		{
+			return Double.NaN;
+		}
+
+		return lower;
+	}
+
+	/**
+	 * Rounds a double, which is the nearest double to a decimal float, to the nearest float to that decimal. Rounding twice only gives a
+	 * different float when the double lands exactly halfway between two floats, since those halfway points are doubles themselves.
+	 *
+	 * @param value Nearest double to a decimal float
+	 *
+	 * @return The nearest float, or NaN if it cannot be found without parsing the literal.
+	 */
+	public static double toFloat(
+		double value
+	) {
+		float rounded = (float) value;
+		if (rounded == value)
+		{
+			return rounded;
+		}
+
+		if (Float.isInfinite(rounded))
+		{
+			return Double.NaN;
+		}
+
+		float neighbour = Math.nextAfter(rounded, value);
+		if (((double) rounded + neighbour) / 2 == value)
+		{
+			return Double.NaN;
+		}
+
+		return rounded;
+	}
+
+	private static double eiselLemire(
+		long significand,
+		int exponent
+	) {
+		if (exponent < SMALLEST_POWER || exponent > LARGEST_POWER)
+		{
+			return Double.NaN;
+		}
+
+		// Normalize the significand, and multiply it by 5^exponent
+		int leadingZeros = Long.numberOfLeadingZeros(significand);
+		long normalized = significand << leadingZeros;
+
+		long[] powers = PowersOfFive.TABLE;
+		int index = 2 * (exponent - SMALLEST_POWER);
+
+		long high = Math.unsignedMultiplyHigh(normalized, powers[index]);
+		long low = normalized * powers[index];
+
+		// The bits that decide rounding may depend on the lower half of the power
+		if ((high & PRECISION_MASK) == PRECISION_MASK)
+		{
+			long carry = Math.unsignedMultiplyHigh(normalized, powers[index + 1]);
+			low += carry;
+			if (Long.compareUnsigned(carry, low) > 0)
+			{
+				high++;
+			}
+		}
+
+		// Too close to a rounding boundary to decide
+		if (low == -1L)
+		{
+			return Double.NaN;
+		}
+
+		int upperBit = (int) (high >>> 63);
+		long mantissa = high >>> (upperBit + 64 - MANTISSA_BITS - 3);
+		int power = binaryPower(exponent) + upperBit - leadingZeros + EXPONENT_BIAS;
+
+		// Subnormal
+		if (power <= 0)
+		{
+			return Double.NaN;
+		}
+
+		// Exactly halfway between two doubles, round to even
+		if (Long.compareUnsigned(low, 1) <= 0 && exponent >= -4 && exponent <= 23 && (mantissa & 3) == 1)
+		{
+			if ((mantissa << (upperBit + 64 - MANTISSA_BITS - 3)) == high)
+			{
+				mantissa &= ~1L;
+			}
+		}
+
+		mantissa += mantissa & 1;
+		mantissa >>>= 1;
+		if (mantissa >= (2L << MANTISSA_BITS))
+		{
+			mantissa = 1L << MANTISSA_BITS;
+			power++;
+		}
+		mantissa &= ~(1L << MANTISSA_BITS);
+
+		if (power >= INFINITE_POWER)
+		{
+			return Double.NaN;
+		}
+
+		return Double.longBitsToDouble(mantissa | ((long) power << MANTISSA_BITS));
+	}
+
+	/**
+	 * Approximates floor(log2(10^exponent)) + 63.
+	 */
+	private static int binaryPower(
+		int exponent
+	) {
+		return (((152170 + 65536) * exponent) >> 16) + 63;
+	}
+
+	/**
+	 * 128-bit approximations of 5^q, normalized so that the highest bit is set, as two longs for each power. Built when first needed.
+	 */
+	private static class PowersOfFive
+	{
+		private static final long[] TABLE = new long[(LARGEST_POWER - SMALLEST_POWER + 1) * 2];
+
+		static {
+			BigInteger five = BigInteger.valueOf(5);
+			for (int q = SMALLEST_POWER; q <= LARGEST_POWER; q++)
+			{
+				BigInteger value;
+				if (q < 0)
+				{
+					// Rounded up reciprocal, with enough bits to truncate
+					BigInteger power = five.pow(-q);
+					int bits = power.bitLength();
+					int shift = (q >= -27) ? bits + 127 : 2 * bits + 128;
+
+					value = BigInteger.ONE.shiftLeft(shift).divide(power).add(BigInteger.ONE);
+				} else {
+					value = five.pow(q);
+				}
+
+				int excess = value.bitLength() - 128;
+				value = (excess > 0) ? value.shiftRight(excess) : value.shiftLeft(-excess);
+
+				int index = 2 * (q - SMALLEST_POWER);
+				TABLE[index] = value.shiftRight(64).longValue();
+				TABLE[index + 1] = value.longValue();
+			}
+		}
+	}
+}
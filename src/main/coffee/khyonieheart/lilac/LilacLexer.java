@@ -0,0 +1,147 @@
+/*
+ * Lilac, a Java TOML lanugage library
+ * Copyright (C) 2026 Hailey-Jane "Khyonie" Garrett
+ */
+package coffee.khyonieheart.lilac;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.Objects;
+
+import coffee.khyonieheart.lilac.symbol.Symbol;
+import coffee.khyonieheart.lilac.symbol.SymbolDispatch;
+import coffee.khyonieheart.lilac.symbol.SymbolFactory;
+import coffee.khyonieheart.lilac.symbol.TomlEndOfDocument;
+import coffee.khyonieheart.lilac.symbol.TomlStartOfDocument;
+
+/**
+ * Reads symbols from a document one step at a time, onto a stack with the most recently read symbol on top.
+ * Only symbols which may start with the next character are tried, see {@link SymbolDispatch}.
+ *
+ * Symbols only inspect the top of the stack while being read, so every symbol below the top may be removed between steps.
+ */
+class LilacLexer
+{
+	private final Document document;
+	private final TomlDecoder decoder;
+	private final Deque<Symbol<?>> symbols = new ArrayDeque<>();
+
+	private Symbol<?> symbol = new TomlStartOfDocument();
+	private boolean finished = false;
+
+	LilacLexer(
+		Document document,
+		TomlDecoder decoder
+	) {
+		this.document = Objects.requireNonNull(document);
+		this.decoder = Objects.requireNonNull(decoder);
+
+		symbols.push(symbol);
+
+		if (!document.hasNext())
+		{
+			symbols.push(new TomlEndOfDocument());
+			finished = true;
+		}
+	}
+
+	/**
+	 * Reads the next symbol, along with any newlines preceeding it.
+	 * Lexing stops at the end of the document, or at the first position where no symbol could be read.
+	 *
+	 * @return Whether or not a symbol was read. If false, lexing has stopped.
+	 * @throws TomlSyntaxException Thrown if a symbol is malformed.
+	 */
+	boolean next()
+	{
+		if (finished)
+		{
+			return false;
+		}
+
+		if (document.skipThroughWhitespace(symbols, decoder))
+		{
+			finished = true;
+			return false;
+		}
+
+		int position = document.getPointer();
+		int pinCount = document.getPinCount();
+		for (Class<? extends Symbol<?>> symbolClass : SymbolDispatch.getCandidates(symbol.getNextSymbols(decoder), document.getCharAtPointer()))
+		{
+			Symbol<?> candidate = SymbolFactory.create(symbolClass);
+			boolean parsed = candidate.tryParse(document, decoder, symbols);
+
+			// Symbols may leave pins behind once parsed, which would keep streamed documents from discarding text already read
+			document.removePinsTo(pinCount);
+
+			if (parsed)
+			{
+				candidate.setPosition(position);
+				symbol = candidate;
+				return true;
+			}
+		}
+
+		finished = true;
+		return false;
+	}
+
+	/**
+	 * Checks that lexing reached the end of the document.
+	 *
+	 * @throws TomlSyntaxException Thrown if lexing stopped before the end of the document.
+	 */
+	void requireEndOfDocument()
+	{
+		if (symbols.peek().getClass() == TomlEndOfDocument.class)
+		{
+			return;
+		}
+
+		StringBuilder builder = new StringBuilder();
+		Iterator<Class<? extends Symbol<?>>> iter = symbols.peek().getNextSymbols(decoder).iterator();
+		while (iter.hasNext())
+		{
+			builder.append(iter.next().getSimpleName());
+
+			if (iter.hasNext())
+			{
+				builder.append(", ");
+			}
+		}
+
+		while (!document.hasNext())
+		{
+			document.hold();
+		}
+
+		throw TomlSyntaxException.of("Expected one of [ " + builder.toString() + " ], found \"" + document.getCharAtPointer() + "\"", document);
+	}
+
+	/**
+	 * Gets the stack of symbols read and not yet removed.
+	 *
+	 * @return A stack of symbols, with the most recently read symbol on top.
+	 */
+	Deque<Symbol<?>> getSymbols()
+	{
+		return this.symbols;
+	}
+
+	boolean isFinished()
+	{
+		return this.finished;
+	}
+
+	/**
+	 * Gets the session this lexer reads with.
+	 *
+	 * @return The decoder given to symbols while lexing.
+	 */
+	TomlDecoder getDecoder()
+	{
+		return this.decoder;
+	}
+}
@@ -0,0 +1,549 @@
+/*
+ * Lilac, a Java TOML lanugage library
+ * Copyright (C) 2026 Hailey-Jane "Khyonie" Garrett
+ */
+package coffee.khyonieheart.lilac;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import coffee.khyonieheart.lilac.configuration.ArrayTypeContext;
+import coffee.khyonieheart.lilac.configuration.TableTypeContext;
+import coffee.khyonieheart.lilac.configuration.TomlLinkedHashMap;
+import coffee.khyonieheart.lilac.symbol.Symbol;
+import coffee.khyonieheart.lilac.symbol.SymbolType;
+
+/**
+ * Builds a TOML map from symbols, one symbol at a time, in the order they were read.
+ * Symbols can be given as soon as they are lexed, so a document never needs to be held as a complete list of symbols.
+ */
+class LilacParser
+{
+	private final Document document;
+
+	// Parser state
+	private final Deque<ParserContext> context = new ArrayDeque<>();
+	private final Deque<Map<String, Object>> openMap = new ArrayDeque<>();
+	private final Deque<List<Object>> openArray = new ArrayDeque<>();
+	private final Deque<Deque<String>> openKeySet = new ArrayDeque<>();
+	private final TomlLinkedHashMap rootMap = new TomlLinkedHashMap();
+
+	// Language rules
+	private final Map<List<Object>, ArrayTypeContext> arrayTypes = new IdentityHashMap<>();
+	private final Map<Map<String, Object>, TableTypeContext> tableTypes = new IdentityHashMap<>();
+
+	private boolean newlineRequired = false;
+	private Symbol<?> symbolStarting = null; // Start symbol for when a symbol needs to process its own following (I.E tables)
+	private SymbolType previousType = null;
+	private SymbolType headerEnd = null; // Set while reading the keys of a table or array of tables header
+
+	LilacParser(
+		Document document
+	) {
+		this.document = Objects.requireNonNull(document);
+
+		context.push(ParserContext.ROOT);
+		openMap.push(rootMap); // Set up root table
+		rootMap.setContext(tableTypes, arrayTypes);
+	}
+
+	/**
+	 * Gives the next symbol to this parser.
+	 *
+	 * @param symbol Next symbol in the document
+	 *
+	 * @throws TomlSyntaxException Thrown if the symbol is not valid at this location, or redefines a key.
+	 */
+	void accept(
+		Symbol<?> symbol
+	) {
+		// Filter unnecessary tokens
+		switch (symbol.getType())
+		{
+			case KEY_SEPARATOR, COMMENT, EQUALS, DOCUMENT_START, DOCUMENT_END -> { return; }
+			default -> {}
+		}
+
+		SymbolType previousType = this.previousType;
+		this.previousType = symbol.getType();
+
+		// Table and array of tables header keys
+		if (headerEnd != null)
+		{
+			if (symbol.getType() == SymbolType.KEY)
+			{
+				openKeySet.peek().push((String) symbol.getValue());
+				return;
+			}
+
+			if (symbol.getType() != headerEnd)
+			{
+				throw TomlSyntaxException.of("Unexpected symbol \"" + symbol.getValue() + "\"", document, symbol);
+			}
+
+			headerEnd = null;
+		}
+
+		// Dotted keys continue the current key set
+		if (symbol.getType() == SymbolType.KEY && previousType == SymbolType.KEY)
+		{
+			openKeySet.peek().push((String) symbol.getValue());
+			return;
+		}
+
+		switch (context.peek())
+		{
+			case ROOT -> acceptRoot(symbol);
+			case INLINE_TABLE -> acceptInlineTable(symbol);
+			case ARRAY -> acceptArray(symbol);
+		}
+	}
+
+	/**
+	 * Finishes parsing once all symbols have been given.
+	 *
+	 * @return The root map of the document.
+	 * @throws TomlSyntaxException Thrown if an array or inline table is left unterminated.
+	 */
+	Map<String, Object> finish()
+	{
+		switch (context.peek())
+		{
+			case ROOT -> {}
+			case ARRAY -> throw TomlSyntaxException.of("Unterminated array", document);
+			case INLINE_TABLE -> throw TomlSyntaxException.of("Unterminated table", document);
+		}
+
+		return openMap.removeLast();
+	}
+
+	//
+	// Root context
+	//
+
+	private void acceptRoot(
+		Symbol<?> symbol
+	) {
+		switch (symbol.getType())
+		{
+			// Start a new key set
+			case KEY -> {
+				if (newlineRequired)
+				{
+					throw TomlSyntaxException.of("Key \"" + symbol.getValue() + "\" must have a newline or start of document preceeding it", document, symbol);
+				}
+
+				openKeySet.push(new ArrayDeque<>());
+				openKeySet.peek().push((String) symbol.getValue());
+			}
+
+			// Take value and put it in top map
+			case VALUE -> {
+				newlineRequired = true;
+				try {
+					put(openMap.peek(), tableTypes, arrayTypes, KeyPlaceContext.VALUE, TableTypeContext.KEY_VALUE_IMPLICIT, openKeySet.pop(), symbol.getValue());
+				} catch (TomlRedefineKeyException e) {
+					throw TomlSyntaxException.of(e.getMessage(), document, symbol, e);
+				}
+			}
+
+			// Set up new array
+			case ARRAY_START -> {
+				openArray.push(new ArrayList<>());
+				context.push(ParserContext.ARRAY);
+			}
+
+			// Set up new table
+			case INLINE_TABLE_START -> {
+				openMap.push(new LinkedHashMap<>());
+				openKeySet.push(new ArrayDeque<>());
+				context.push(ParserContext.INLINE_TABLE);
+			}
+
+			// Set up new array of tables keys
+			case TABLE_ARRAY_START -> {
+				openKeySet.push(new ArrayDeque<>());
+				headerEnd = SymbolType.TABLE_ARRAY_END;
+			}
+
+			// Attempt to create or target existing array
+			case TABLE_ARRAY_END -> {
+				Deque<String> keys = openKeySet.pop();
+				Map<String, Object> topMap = new LinkedHashMap<>();
+
+				// Strip down to root configuration
+				while (openMap.size() > 1)
+				{
+					openMap.pop();
+				}
+
+				if (!openArray.isEmpty())
+				{
+					openArray.pop();
+				}
+
+				openArray.push(getOrPutArray(openMap.peek(), tableTypes, arrayTypes, keys));
+				openArray.peek().add(topMap);
+				openMap.push(topMap);
+				newlineRequired = true;
+			}
+
+			// Set up new table keys
+			case TABLE_START -> {
+				openKeySet.push(new ArrayDeque<>());
+				symbolStarting = symbol;
+				headerEnd = SymbolType.TABLE_END;
+			}
+
+			// Take keys and set the top map to the new map
+			case TABLE_END -> {
+				if (openMap.size() > 1)
+				{
+					openMap.pop();
+				}
+				Deque<String> keys = openKeySet.pop();
+				Map<String, Object> topMap = new LinkedHashMap<>();
+				try {
+					Map<String, Object> existing = put(openMap.peek(), tableTypes, arrayTypes, KeyPlaceContext.TABLE, TableTypeContext.EXPLICIT, keys, topMap);
+					openMap.push(existing == null ? topMap : existing);
+				} catch (TomlRedefineKeyException e) {
+					throw TomlSyntaxException.of(e.getMessage(), document, symbolStarting, e);
+				}
+
+				newlineRequired = true;
+			}
+
+			case NEWLINE -> newlineRequired = false;
+			default -> throw new IllegalStateException("Invalid type \"" + symbol.getType().name() + "\" in root context");
+		}
+	}
+
+	//
+	// Inline table context
+	//
+
+	private void acceptInlineTable(
+		Symbol<?> symbol
+	) {
+		switch (symbol.getType())
+		{
+			// Start a new key set
+			case KEY -> {
+				openKeySet.push(new ArrayDeque<>());
+				openKeySet.peek().push((String) symbol.getValue());
+			}
+
+			// Take value and put it in top map
+			case VALUE -> {
+				try {
+					put(openMap.peek(), tableTypes, arrayTypes, KeyPlaceContext.VALUE, TableTypeContext.KEY_VALUE_IMPLICIT, openKeySet.pop(), symbol.getValue());
+				} catch (TomlRedefineKeyException e) {
+					throw TomlSyntaxException.of(e.getMessage(), document, symbol, e);
+				}
+			}
+
+			// Set up new table
+			case INLINE_TABLE_START -> {
+				openMap.push(new LinkedHashMap<>());
+				openKeySet.push(new ArrayDeque<>());
+				context.push(ParserContext.INLINE_TABLE);
+			}
+
+			// Take table and put it in target destination
+			case INLINE_TABLE_END -> {
+				Map<String, Object> table = openMap.pop();
+				openKeySet.pop();
+				context.pop();
+
+				switch (context.peek())
+				{
+					case ARRAY -> openArray.peek().add(table);
+					default -> {
+						try {
+							put(openMap.peek(), tableTypes, arrayTypes, KeyPlaceContext.VALUE, TableTypeContext.INLINE, openKeySet.pop(), table);
+						} catch (TomlRedefineKeyException e) {
+							throw TomlSyntaxException.of(e.getMessage(), document, symbol, e);
+						}
+					}
+				}
+			}
+
+			// Set up new array
+			case ARRAY_START -> {
+				openArray.push(new ArrayList<>());
+				context.push(ParserContext.ARRAY);
+			}
+			case NEWLINE -> {}
+			case ARRAY_SEPARATOR -> {}
+			default -> throw new IllegalStateException("Invalid type \"" + symbol.getType().name() + "\" in inline table context");
+		}
+	}
+
+	//
+	// Array context
+	//
+
+	private void acceptArray(
+		Symbol<?> symbol
+	) {
+		switch (symbol.getType())
+		{
+			// Take value and put it in top map
+			case VALUE -> openArray.peek().add(symbol.getValue());
+
+			// Set up new table
+			case INLINE_TABLE_START -> {
+				openMap.push(new LinkedHashMap<>());
+				openKeySet.push(new ArrayDeque<>());
+				context.push(ParserContext.INLINE_TABLE);
+			}
+
+			// Set up new array
+			case ARRAY_START -> {
+				openArray.push(new ArrayList<>());
+				context.push(ParserContext.ARRAY);
+			}
+
+			// Take array and put it in target destination
+			case ARRAY_END -> {
+				List<Object> array = openArray.pop();
+				context.pop();
+
+				switch (context.peek())
+				{
+					case ARRAY -> openArray.peek().add(array);
+					default -> {
+						try {
+							put(openMap.peek(), tableTypes, arrayTypes, KeyPlaceContext.VALUE, TableTypeContext.KEY_VALUE_IMPLICIT, openKeySet.pop(), array);
+						} catch (TomlRedefineKeyException e) {
+							throw TomlSyntaxException.of(e.getMessage(), document, symbol, e);
+						}
+					}
+				}
+			}
+			case NEWLINE -> {}
+			case ARRAY_SEPARATOR -> {}
+			default -> throw new IllegalStateException("Invalid type \"" + symbol.getType().name() + "\" in array context");
+		}
+	}
+
+	//
+	// Language rules
+	//
+
+	private static String keysToString(
+		Deque<String> keys
+	) {
+		StringBuilder builder = new StringBuilder();
+		Deque<String> keysCopy = new ArrayDeque<>(keys).reversed();
+
+		while (!keysCopy.isEmpty())
+		{
+			builder.append(keysCopy.pop());
+
+			if (!keysCopy.isEmpty())
+			{
+				builder.append('.');
+			}
+		}
+
+		return builder.toString();
+	}
+
+	@SuppressWarnings("unchecked")
+	private static List<Object> getOrPutArray(
+		Map<String, Object> map,
+		Map<Map<String, Object>, TableTypeContext> tableTypes,
+		Map<List<Object>, ArrayTypeContext> arrayTypes,
+		Deque<String> keys
+	) {
+		Deque<String> keysCopy = new ArrayDeque<>(keys).reversed();
+
+		Map<String, Object> targetMap = map;
+		String key;
+		while (keysCopy.size() > 1)
+		{
+			key = keysCopy.pop();
+			if (!targetMap.containsKey(key))
+			{
+				Map<String, Object> nextMap = new LinkedHashMap<>();
+				targetMap.put(key, nextMap);
+				targetMap = nextMap;
+				tableTypes.put(nextMap, TableTypeContext.TABLE_IMPLICIT);
+				continue;
+			}
+
+			// Target array of tables
+			if (targetMap.get(key) instanceof List)
+			{
+				Object target = ((List<Object>) targetMap.get(key)).getLast();
+
+				if (!(target instanceof Map))
+				{
+					throw new TomlRedefineKeyException("Cannot redefine existing key \"" + keysToString(keys) + "\" with value of type " + targetMap.get(key).getClass() + " as an array");
+				}
+
+				targetMap = (Map<String, Object>) target;
+				continue;
+			}
+
+			if (!(targetMap.get(key) instanceof Map))
+			{
+				throw new TomlRedefineKeyException("Cannot redefine existing key \"" + keysToString(keys) + "\" with value of type " + targetMap.get(key).getClass() + " as a table");
+			}
+
+			targetMap = (Map<String, Object>) targetMap.get(key);
+		}
+
+		key = keysCopy.pop();
+		if (targetMap.containsKey(key))
+		{
+			if (targetMap.get(key) instanceof List)
+			{
+				if (arrayTypes.get((List<Object>) targetMap.get(key)) != ArrayTypeContext.ARRAY_OF_TABLES)
+				{
+					throw new TomlRedefineKeyException("Cannot extend regular array \"" + key + "\" as an array of tables");
+				}
+				return (List<Object>) targetMap.get(key);
+			}
+
+			throw new TomlRedefineKeyException("Cannot redefine existing key \"" + keysToString(keys) + "\" with value of type " + targetMap.get(key).getClass() + " as an array");
+		}
+
+		List<Object> array = new ArrayList<>();
+		targetMap.put(key, array);
+		arrayTypes.put(array, ArrayTypeContext.ARRAY_OF_TABLES);
+		return array;
+	}
+
+	@SuppressWarnings("unchecked")
+	private static Map<String, Object> put(
+		Map<String, Object> root,
+		Map<Map<String, Object>, TableTypeContext> tableTypes,
+		Map<List<Object>, ArrayTypeContext> arrayTypes,
+		KeyPlaceContext keyContext,
+		TableTypeContext tableContext,
+		Deque<String> keys,
+		Object value
+	) {
+		Deque<String> keysCopy = new ArrayDeque<>(keys).reversed();
+
+		Map<String, Object> targetMap = root;
+		TableTypeContext previousTableContext = null;
+		String key;
+		while (keysCopy.size() > 1)
+		{
+			key = keysCopy.pop();
+			if (!targetMap.containsKey(key))
+			{
+				Map<String, Object> nextMap = new LinkedHashMap<>();
+				targetMap.put(key, nextMap);
+				targetMap = nextMap;
+
+				tableTypes.put(nextMap, tableContext == TableTypeContext.EXPLICIT ? TableTypeContext.TABLE_IMPLICIT : TableTypeContext.KEY_VALUE_IMPLICIT);
+				previousTableContext = tableTypes.get(nextMap);
+				continue;
+			}
+
+			// Target array of tables
+			if (targetMap.get(key) instanceof List)
+			{
+				Object target = ((List<Object>) targetMap.get(key)).getLast();
+
+				if (!(target instanceof Map))
+				{
+					throw new TomlRedefineKeyException("Cannot redefine existing key \"" + keysToString(keys) + "\" with value of type " + targetMap.get(key).getClass() + " as an array");
+				}
+
+				if (!arrayTypes.containsKey(targetMap.get(key)) || arrayTypes.get(targetMap.get(key)) != ArrayTypeContext.ARRAY_OF_TABLES)
+				{
+					throw new TomlRedefineKeyException("Cannot extend static table \"" + key + "\"");
+				}
+
+				targetMap = (Map<String, Object>) target;
+
+				if (keyContext == KeyPlaceContext.VALUE)
+				{
+					throw new TomlRedefineKeyException("Cannot redefine existing array of tables \"" + key + "\" outside of an array-of-tables definition");
+				}
+				continue;
+			}
+
+			if (!(targetMap.get(key) instanceof Map))
+			{
+				throw new TomlRedefineKeyException("Cannot redefine existing key \"" + keysToString(keys) + "\" with value of type " + targetMap.get(key).getClass() + " as a table");
+			}
+
+			if (tableTypes.get((Map<String, Object>) targetMap.get(key)) == TableTypeContext.INLINE)
+			{
+				throw new TomlRedefineKeyException("Cannot extend inline table \"" + key + "\"");
+			}
+
+			if (tableContext == TableTypeContext.KEY_VALUE_IMPLICIT && previousTableContext == TableTypeContext.TABLE_IMPLICIT && tableTypes.get(targetMap.get(key)) == TableTypeContext.EXPLICIT)
+			{
+				throw new TomlRedefineKeyException("Dotted keys cannot insert into already defined explicit tables, see https://github.com/toml-lang/toml/issues/846");
+			}
+
+			previousTableContext = tableTypes.get(targetMap.get(key));
+
+			targetMap = (Map<String, Object>) targetMap.get(key);
+		}
+
+		key = keysCopy.pop();
+		if (targetMap.containsKey(key))
+		{
+			if (targetMap.get(key) instanceof Map && value instanceof Map)
+			{
+				Map<String, Object> target = (Map<String, Object>) targetMap.get(key);
+				if (tableTypes.get(target) == TableTypeContext.TABLE_IMPLICIT && tableContext != TableTypeContext.EXPLICIT)
+				{
+					throw new TomlRedefineKeyException("Duplicate table \"" + keysToString(keys) + "\"");
+				}
+
+				if (tableTypes.get(target) == TableTypeContext.KEY_VALUE_IMPLICIT && tableContext == TableTypeContext.EXPLICIT)
+				{
+					throw new TomlRedefineKeyException("Cannot extend an implicitly created table \"" + key + "\" with an explicit table definition");
+				}
+
+				if (tableTypes.get(target) == TableTypeContext.EXPLICIT && tableContext == TableTypeContext.EXPLICIT)
+				{
+					throw new TomlRedefineKeyException("Duplicate explicit table \"" + key + "\"");
+				}
+
+				if (tableContext == TableTypeContext.INLINE)
+				{
+					throw new TomlRedefineKeyException("Cannot redefine implicitly defined table \"" + key + "\" as an inline table");
+				}
+
+				tableTypes.put((Map<String, Object>) targetMap.get(key), TableTypeContext.EXPLICIT);
+				return (Map<String, Object>) targetMap.get(key);
+			}
+			throw new TomlRedefineKeyException("Cannot redefine existing key \"" + key + "\" with value of type " + targetMap.get(key).getClass().getName() + " as value with type " + value.getClass().getName());
+		}
+
+		if (value instanceof Map)
+		{
+			tableTypes.put((Map<String, Object>) value, tableContext);
+		}
+
+		if (value instanceof List)
+		{
+			arrayTypes.put((List<Object>) value, ArrayTypeContext.REGULAR);
+		}
+		targetMap.put(key, value);
+		return null;
+	}
+
+	private static enum KeyPlaceContext
+	{
+		TABLE,
+		VALUE
+		;
+	}
+}
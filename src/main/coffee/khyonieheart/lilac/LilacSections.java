@@ -0,0 +1,243 @@
+/*
+ * Lilac, a Java TOML lanugage library
+ * Copyright (C) 2026 Hailey-Jane "Khyonie" Garrett
+ */
+package coffee.khyonieheart.lilac;
+
+import java.util.Arrays;
+
+/**
+ * Splits a document into sections which can be lexed independently, each starting with a top-level table or array of tables header.
+ *
+ * Headers are found with a quick scan which skips strings and comments and counts brackets, so a '[' at the start of a line inside a
+ * multi-line string or array is not mistaken for a header. The scan does not validate the document. A section which was split in the
+ * wrong place fails to lex on its own, and the decoder falls back to reading the whole document, see {@link LilacDecoder#setParallel(boolean)}.
+ */
+class LilacSections
+{
+	/**
+	 * Finds the start of each section. Headers closer than the given length to the start of the current section do not start a new one.
+	 *
+	 * @param text Document text
+	 * @param minimumLength Minimum length of a section, apart from the last
+	 *
+	 * @return Start positions of each section, beginning with 0.
+	 */
+	static int[] split(
+		String text,
+		int minimumLength
+	) {
+		int[] starts = new int[16];
+		int count = 1; // The first section always starts at 0
+
+		int depth = 0;
+		int length = text.length();
+		int i = 0;
+		while (i < length)
+		{
+			// Start of a line
+			int lineStart = i;
+			while (i < length && (text.charAt(i) == ' ' || text.charAt(i) == '\t'))
+			{
+				i++;
+			}
+
+			if (i < length && text.charAt(i) == '[' && depth == 0 && lineStart - starts[count - 1] >= minimumLength)
+			{
+				if (count == starts.length)
+				{
+					starts = Arrays.copyOf(starts, count * 2);
+				}
+				starts[count++] = lineStart;
+			}
+
+			// Rest of the line
+			while (i < length)
+			{
+				char c = text.charAt(i);
+				if (c == '\n')
+				{
+					i++;
+					break;
+				}
+
+				switch (c)
+				{
+					case '#' -> i = skipComment(text, i);
+					case '"' -> i = text.startsWith("\"\"\"", i) ? skipMultilineString(text, i, '"') : skipString(text, i, '"');
+					case '\'' -> i = text.startsWith("'''", i) ? skipMultilineString(text, i, '\'') : skipString(text, i, '\'');
+					case '[', '{' -> {
+						depth++;
+						i++;
+					}
+					case ']', '}' -> {
+						depth--;
+						i++;
+					}
+					default -> i++;
+				}
+			}
+		}
+
+		return Arrays.copyOf(starts, count);
+	}
+
+	/**
+	 * Skips to the end of a comment, before the newline.
+	 */
+	private static int skipComment(
+		String text,
+		int start
+	) {
+		int end = text.indexOf('\n', start);
+		return end == -1 ? text.length() : end;
+	}
+
+	/**
+	 * Skips past the end of a single-line string, or to the end of the line if it is unterminated.
+	 */
+	private static int skipString(
+		String text,
+		int start,
+		char quote
+	) {
+		int i = start + 1;
+		while (i < text.length())
+		{
+			char c = text.charAt(i);
+			if (c == '\n')
+			{
+				return i;
+			}
+
+			// Basic strings may escape quotes
+			if (c == '\\' && quote == '"')
+			{
+				i += 2;
+				continue;
+			}
+
+			i++;
+			if (c == quote)
+			{
+				return i;
+			}
+		}
+
+		return text.length();
+	}
+
+	/**
+	 * Skips past the end of a multi-line string, including up to two quotes directly before the closing delimiter.
+	 */
+	private static int skipMultilineString(
+		String text,
+		int start,
+		char quote
+	) {
+		int i = start + 3;
+		while (i < text.length())
+		{
+			char c = text.charAt(i);
+			if (c == '\\' && quote == '"')
+			{
+				i += 2;
+				continue;
+			}
+
+			if (c == quote && i + 2 < text.length() && text.charAt(i + 1) == quote && text.charAt(i + 2) == quote)
+			{
+				i += 3;
+				for (int extra = 0; extra < 2 && i < text.length() && text.charAt(i) == quote; extra++)
+				{
+					i++;
+				}
+
+				return i;
+			}
+
+			i++;
+		}
+
+		return text.length();
+	}
+
+	/**
+	 * A section of a document held in memory. Positions are counted from the start of the section.
+	 */
+	static class SectionDocument extends Document
+	{
+		private final String text;
+		private final int start;
+		private final int end;
+
+		SectionDocument(
+			String text,
+			int start,
+			int end
+		) {
+			this.text = text;
+			this.start = start;
+			this.end = end;
+		}
+
+		@Override
+		public String getDocument()
+		{
+			return text.substring(start, end);
+		}
+
+		@Override
+		public char getCharAtPointer()
+		{
+			int pointer = this.getPointer();
+			if (pointer >= end - start)
+			{
+				throw new StringIndexOutOfBoundsException("Index " + pointer + " out of bounds for length " + (end - start));
+			}
+
+			return text.charAt(start + pointer);
+		}
+
+		@Override
+		public char getCharAndIncrement()
+		{
+			char current = this.getCharAtPointer();
+			this.incrementPointer();
+
+			return current;
+		}
+
+		@Override
+		public int getDocumentLength()
+		{
+			return end - start;
+		}
+
+		@Override
+		public boolean hasNext()
+		{
+			return this.getPointer() < end - start;
+		}
+
+		@Override
+		public void appendStringRun(
+			StringBuilder builder,
+			char quote,
+			boolean allowNewlines
+		) {
+			int from = start + this.getPointer();
+			int to = from;
+			while (to < end && !isStringBoundary(text.charAt(to), quote, allowNewlines))
+			{
+				to++;
+			}
+
+			builder.append(text, from, to);
+			for (; from < to; from++)
+			{
+				this.incrementPointer();
+			}
+		}
+	}
+}
@@ -8,7 +8,6 @@ import java.util.Objects;
 
 public class LilacStrings
 {
-	private static int HEXADECIMAL_BASE = 16;
 	private static char QUOTATION_MARK = '"';
 	private static char APOSTROPHE = '\'';
 
@@ -36,6 +35,11 @@ public class LilacStrings
 		StringBuilder builder = new StringBuilder();
 		while (true) 
 		{
+			if (!escaped)
+			{
+				document.appendStringRun(builder, QUOTATION_MARK, false);
+			}
+
 			if (!document.hasNext())
 			{
 				document.rewindToPin();
@@ -64,68 +68,7 @@ public class LilacStrings
 			if (escaped)
 			{
 				escaped = false;
-				switch (current)
-				{
-					case '"' -> builder.append(current);
-					case 'e' -> {
-						if (decoder.getVersion() == TomlVersion.V1_1_0)
-						{
-							builder.append('\u001B');
-							continue;
-						}
-
-						throw TomlSyntaxException.of("ESC character literals '\\e' are not supported in TOML v1.0.0", document.hold());
-					}
-					case 't' -> builder.append('\t');
-					case 'n' -> builder.append('\n');
-					case 'r' -> builder.append('\r');
-					case 'f' -> builder.append('\f');
-					case '\\' -> builder.append(current);
-					case 'b' -> builder.append('\b');
-					case 'U' -> { // UTF-24
-						long codepoint = readUTFCodepoint(document, 8);
-
-						if (codepoint >= '\uD800' && codepoint <= '\uDFFF')
-						{
-							throw TomlSyntaxException.of("Unicode surrogates cannot be used in unicode characters", document.hold(5));
-						}
-
-						if (codepoint > 0x0010FFFF)
-						{
-							throw TomlSyntaxException.of("Out-of-range unicode literal", document.hold(9));
-						}
-
-						current = document.getCharAtPointer();
-						builder.append((char) codepoint);
-						continue;
-					}
-					case 'u' -> { // UTF-16
-						long codepoint = readUTFCodepoint(document, 4);
-
-						if (codepoint >= '\uD800' && codepoint <= '\uDFFF')
-						{
-							throw TomlSyntaxException.of("Unicode surrogates cannot be used in unicode characters", document.hold(5));
-						}
-
-						current = document.getCharAtPointer();
-						builder.append((char) codepoint);
-						continue;
-					}
-					case 'x' -> { // UTF-8 hex
-						if (decoder.getVersion() != TomlVersion.V1_1_0)
-						{
-							throw TomlSyntaxException.of("Hex escaped character literals '\\x' are not supported in TOML v1.0.0", document.hold());
-						}
-
-						long codepoint = readUTFCodepoint(document, 2);
-
-						current = document.getCharAtPointer();
-						builder.append((char) codepoint);
-						continue;
-					}
-					default -> throw TomlSyntaxException.of("Unrecognized escape sequence \"\\" + current + "\"", document.hold().hold());
-				}
-
+				appendEscape(document, decoder, current, builder);
 				continue;
 			}
 
@@ -166,6 +109,8 @@ public class LilacStrings
 		StringBuilder builder = new StringBuilder();
 		while (true) // This scares me
 		{
+			document.appendStringRun(builder, APOSTROPHE, false);
+
 			if (!document.hasNext())
 			{
 				document.rewindToPin();
@@ -190,29 +135,36 @@ public class LilacStrings
 		return builder.toString();
 	}
 
+	/**
+	 * Decodes the escape sequence after a backslash in a basic string, and appends the character it stands for, see
+	 * {@link TomlUtilities#appendEscape(Document, TomlVersion, char, StringBuilder)}.
+	 *
+	 * @param document Document to read from, with the pointer after the escaped character
+	 * @param decoder Decoder reading the document
+	 * @param escape Character after the backslash
+	 * @param builder Builder to append the unescaped character to
+	 */
+	public static void appendEscape(
+		Document document,
+		TomlDecoder decoder,
+		char escape,
+		StringBuilder builder
+	) {
+		TomlUtilities.appendEscape(document, decoder.getVersion(), escape, builder);
+	}
+
+	/**
+	 * Reads the hexadecimal digits of a unicode escape sequence.
+	 *
+	 * @param document Document to read from
+	 * @param length Number of digits to read
+	 *
+	 * @return The codepoint, which has not been checked.
+	 */
 	public static long readUTFCodepoint(
 		Document document,
 		int length
 	) {
-		char current;
-		String codepoint = new String();
-		for (int i = 0; i < length; i++)
-		{
-			if (!document.hasNext())
-			{
-				throw TomlSyntaxException.of("Unexpected end of document", document);
-			}
-
-			current = document.getCharAndIncrement();
-			try {
-				Byte.parseByte("" + current, HEXADECIMAL_BASE);
-
-				codepoint += current;
-			} catch (NumberFormatException e) {
-				throw TomlSyntaxException.of("Illegal character \"" + current + "\" in unicode sequence", document);
-			}
-		}
-
-		return Long.parseLong(codepoint, HEXADECIMAL_BASE);
+		return TomlUtilities.readUTFCodepoint(document, length);
 	}
 }
@@ -4,68 +4,164 @@
  */ 
 package coffee.khyonieheart.lilac;
 
+import java.io.IOException;
+import java.time.DateTimeException;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.time.LocalTime;
+import java.time.OffsetDateTime;
 import java.time.ZoneOffset;
-import java.time.format.DateTimeParseException;
+import java.time.temporal.Temporal;
 
 /**
- * Readers for different RFC 3339 date/time formats.
+ * Readers and writers for different RFC 3339 date/time formats.
  */
 public class LilacTimes
 {
 	private static final int YEAR_LENGTH = 4;
 	private static final int MONTH_OR_DAY_LENGTH = 2;
+	private static final int NANOSECOND_LENGTH = 9;
+
+	private static final int MAXIMUM_OFFSET_MINUTES = 18 * 60;
+	private static final ZoneOffset[] OFFSETS = new ZoneOffset[MAXIMUM_OFFSET_MINUTES * 2 + 1]; // By total minutes, filled when first used
+
+	/**
+	 * Reads a date/time literal of the given type. The literal is recognized in a single scan, which finds the date, time and offset together.
+	 *
+	 * The four date/time symbols are tried one after another at the same position, so sessions remember the last literal recognized and
+	 * each later symbol only checks its type. Other decoders may be shared between threads and documents, so they scan each time.
+	 * Literals which are not of the given type leave the pointer where it was.
+	 *
+	 * @param document Document to read from
+	 * @param decoder Decoder reading the document
+	 * @param type One of {@link OffsetDateTime}, {@link LocalDateTime}, {@link LocalDate} or {@link LocalTime}
+	 *
+	 * @return The literal at the pointer, or null if there is no date/time literal of the given type.
+	 */
+	public static <T extends Temporal> T tryTemporal(
+		Document document,
+		TomlDecoder decoder,
+		Class<T> type
+	) {
+		int start = document.getPointer();
+		TemporalMemo memo = (decoder instanceof LilacDecoder lilacDecoder) ? lilacDecoder.getTemporalMemo() : null;
 
-	// YYYY-MM-DD
-	public static LocalDate tryDate(
-		Document document
+		if (memo == null || !memo.isAt(document, start))
+		{
+			document.pinPointer();
+			Temporal temporal = recognize(document, decoder);
+			int end = document.getPointer();
+			document.rewindToPin();
+
+			if (memo == null)
+			{
+				return accept(document, temporal, end, type);
+			}
+
+			memo.remember(document, start, temporal, end);
+		}
+
+		return accept(document, memo.getTemporal(), memo.getEnd(), type);
+	}
+
+	/**
+	 * Moves the pointer past a recognized literal if it is of the given type.
+	 */
+	private static <T extends Temporal> T accept(
+		Document document,
+		Temporal temporal,
+		int end,
+		Class<T> type
 	) {
-		if (document.getCharAtPointer() < '0' || document.getCharAtPointer() > '9')
+		if (temporal == null || temporal.getClass() != type)
 		{
 			return null;
 		}
 
-		document.pinPointer();
-		char current;
+		while (document.getPointer() < end)
+		{
+			document.incrementPointer();
+		}
+
+		return type.cast(temporal);
+	}
 
-		StringBuilder dateBuilder = new StringBuilder();
-		for (int portion = 0; portion < 3; portion++)
+	/**
+	 * Scans a date, time, local date-time or offset date-time, leaving the pointer after it.
+	 */
+	private static Temporal recognize(
+		Document document,
+		TomlDecoder decoder
+	) {
+		LocalDate date = tryDate(document);
+		if (date == null)
 		{
-			for (int i = 0; i < (portion != 0 ? MONTH_OR_DAY_LENGTH : YEAR_LENGTH); i++)
+			return tryTime(document, decoder);
+		}
+
+		document.pinPointer();
+		char current = document.getCharAndIncrement();
+		if (current == ' ' || current == 't' || current == 'T')
+		{
+			LocalTime time = tryTime(document, decoder);
+			if (time != null)
 			{
-				current = document.getCharAndIncrement();
+				document.removePin();
 
-				if (current < '0' || current > '9')
+				ZoneOffset offset = tryOffset(document);
+				if (offset == null)
 				{
-					document.rewindToPin();
-					return null;
+					return LocalDateTime.of(date, time);
 				}
 
-				dateBuilder.append(current);
+				return OffsetDateTime.of(date, time, offset);
 			}
+		}
 
-			// Date separator
-			if (portion != 2)
-			{
-				if (document.getCharAndIncrement() == '-')
-				{
-					dateBuilder.append('-');
-					continue;
-				}
+		// A date on its own
+		document.rewindToPin();
+		return date;
+	}
 
-				document.rewindToPin();
-				return null;
-			}
+	// YYYY-MM-DD
+	public static LocalDate tryDate(
+		Document document
+	) {
+		if (document.getCharAtPointer() < '0' || document.getCharAtPointer() > '9')
+		{
+			return null;
+		}
+
+		document.pinPointer();
+
+		int year = readDigits(document, YEAR_LENGTH);
+		if (year == -1 || document.getCharAndIncrement() != '-')
+		{
+			document.rewindToPin();
+			return null;
+		}
+
+		int month = readDigits(document, MONTH_OR_DAY_LENGTH);
+		if (month == -1 || document.getCharAndIncrement() != '-')
+		{
+			document.rewindToPin();
+			return null;
+		}
+
+		int day = readDigits(document, MONTH_OR_DAY_LENGTH);
+		if (day == -1)
+		{
+			document.rewindToPin();
+			return null;
 		}
 
 		try {
+			LocalDate date = LocalDate.of(year, month, day);
 			document.removePin();
-			LocalDate date = LocalDate.parse(dateBuilder.toString());
 			return date;
-		} catch (DateTimeParseException e) {
+		} catch (DateTimeException e) {
 			document.rewindToPin();
-			throw TomlSyntaxException.of("Invalid local date literal \"" + dateBuilder.toString() + "\"", document.hold());
+			throw TomlSyntaxException.of("Invalid local date literal \"" + String.format("%04d-%02d-%02d", year, month, day) + "\"", document.hold());
 		}
 	}
 
@@ -80,198 +176,373 @@ public class LilacTimes
 		}
 
 		document.pinPointer();
-		char current;
-		
-		StringBuilder timeBuilder = new StringBuilder();
-		int millisCount = 0;
-		components: for (TimeComponent component : TimeComponent.values())
+		boolean v1_1 = decoder.getVersion() == TomlVersion.V1_1_0;
+
+		// Hour
+		int hour = readDigits(document, 2);
+		if (hour == -1 || hour >= 24 || document.getCharAtPointer() != ':')
+		{
+			document.rewindToPin();
+			return null;
+		}
+		document.incrementPointer();
+
+		// Minute
+		int minute = readDigits(document, 2);
+		if (minute == -1)
+		{
+			document.rewindToPin();
+			return null;
+		}
+
+		if (minute >= 60)
+		{
+			throw TomlSyntaxException.of("Illegal minute value \"" + minute + "\", expected 0-59", document.hold(3));
+		}
+
+		char current = document.getCharAtPointer();
+		if (current != ':')
 		{
-			for (int i = 0; (component == TimeComponent.MILLISECOND ? true : (i < 2)); i++)
+			// v1.1.0 allows seconds to be left out
+			if (v1_1 && isTimeTerminator(current))
 			{
-				current = document.getCharAtPointer();
+				document.removePin();
+				return LocalTime.of(hour, minute);
+			}
 
-				if (component == TimeComponent.MILLISECOND || (decoder.getVersion() == TomlVersion.V1_1_0 && component == TimeComponent.SECOND))
-				{
-					if (!document.hasNext() || isOneOfChars(current, '+', '-', 'z', 'Z', '#', ',') || Character.isWhitespace(current))
-					{
-						if (i == 1 && component == TimeComponent.SECOND)
-						{
-							throw TomlSyntaxException.of("Incomplete time component", document);
-						}
-						break components;
-					}
-				}
+			document.rewindToPin();
+			return null;
+		}
+		document.incrementPointer();
 
-				if (current < '0' || current > '9')
-				{
-					document.rewindToPin();
-					return null;
-				}
+		// Second
+		int second = 0;
+		for (int i = 0; i < 2; i++)
+		{
+			current = document.getCharAtPointer();
+			if (v1_1 && (!document.hasNext() || isTimeTerminator(current)))
+			{
+				throw TomlSyntaxException.of("Incomplete time component", document);
+			}
 
-				if (component == TimeComponent.MILLISECOND)
-				{
-					if (millisCount < 9)
-					{
-						millisCount++;
-						timeBuilder.append(current);
-					}
-
-					document.incrementPointer();
-					continue;
-				}
+			if (current < '0' || current > '9')
+			{
+				document.rewindToPin();
+				return null;
+			}
+
+			document.incrementPointer();
+			second = second * 10 + (current - '0');
+		}
+
+		if (second >= 60)
+		{
+			throw TomlSyntaxException.of("Illegal second value \"" + second + "\", expected 0-59", document.hold(3));
+		}
 
-				document.incrementPointer();
-				timeBuilder.append(current);
+		current = document.getCharAtPointer();
+		if (current != '.')
+		{
+			if (isTimeTerminator(current))
+			{
+				document.removePin();
+				return LocalTime.of(hour, minute, second);
 			}
 
-			int lastTwoDigits = Integer.parseInt(timeBuilder.substring(timeBuilder.length() - 2));
+			document.rewindToPin();
+			return null;
+		}
+		document.incrementPointer();
 
-			switch (component)
+		// Fraction, digits past nanosecond precision are ignored. A separator followed directly by the end of the time is read as no fraction
+		int nanos = 0;
+		int digits = 0;
+		while (true)
+		{
+			current = document.getCharAtPointer();
+			if (!document.hasNext() || isTimeTerminator(current))
 			{
-				case HOUR -> {
-					if (lastTwoDigits >= 24)
-					{
-						document.rewindToPin();
-						return null;
-					}
-				}
-				case MINUTE -> {
-					if (lastTwoDigits >= 60)
-					{
-						throw TomlSyntaxException.of("Illegal minute value \"" + lastTwoDigits + "\", expected 0-59", document.hold(3));
-					}
-				}
-				case SECOND -> {
-					if (lastTwoDigits >= 60)
-					{
-						throw TomlSyntaxException.of("Illegal second value \"" + lastTwoDigits + "\", expected 0-59", document.hold(3));
-					}
-				}
-				default -> {}
+				break;
 			}
 
-			// Time separator
-			if (component != TimeComponent.MILLISECOND)
+			if (current < '0' || current > '9')
 			{
-				current = document.getCharAtPointer();
-				char targetChar = switch (component) {
-					case HOUR -> ':';
-					case MINUTE -> ':';
-					case SECOND -> '.';
-					case MILLISECOND -> throw new IllegalStateException();
-				};
-
-				if (current != targetChar)
-				{
-					// v1.1.0 strangeness
-					if (decoder.getVersion() == TomlVersion.V1_1_0 && component == TimeComponent.MINUTE && (isOneOfChars(current, '+', '-', 'z', 'Z', '#', ',') || Character.isWhitespace(current)))
-					{
-						break components;
-					}
-
-					if (component == TimeComponent.SECOND && (isOneOfChars(current, '+', '-', 'z', 'Z', '#', ',') || Character.isWhitespace(current))) 
-					{
-						break components;
-					}
-					document.rewindToPin();
-					return null;
-				}
+				document.rewindToPin();
+				return null;
+			}
 
-				document.incrementPointer();
-				timeBuilder.append(current);
+			if (digits < NANOSECOND_LENGTH)
+			{
+				nanos = nanos * 10 + (current - '0');
+				digits++;
 			}
+
+			document.incrementPointer();
+		}
+
+		for (; digits < NANOSECOND_LENGTH; digits++)
+		{
+			nanos *= 10;
 		}
 
 		document.removePin();
-		LocalTime time = LocalTime.parse(timeBuilder.toString());
-		return time;
+		return LocalTime.of(hour, minute, second, nanos);
 	}
 
 	public static ZoneOffset tryOffset(
 		Document document
 	) {
-		if (!isOneOfChars(document.getCharAtPointer(), 'z', 'Z', '+', '-'))
-		{
-			return null;
-		}
+		char sign = document.getCharAtPointer();
 
 		// UTC shorthand
-		if (isOneOfChars(document.getCharAtPointer(), 'z', 'Z'))
+		if (sign == 'z' || sign == 'Z')
 		{
 			document.incrementPointer();
 			return ZoneOffset.UTC;
 		}
 
-		document.pinPointer();
+		if (sign != '+' && sign != '-')
+		{
+			return null;
+		}
 
-		// +/-
-		StringBuilder prefixBuilder = new StringBuilder();
-		prefixBuilder.append(document.getCharAndIncrement());
+		document.pinPointer();
+		document.incrementPointer();
 
 		// HH:MM
-		char current;
-		for (int i = 0; i < 5; i++)
+		int hours = readDigits(document, 2);
+		if (hours == -1 || document.getCharAndIncrement() != ':')
 		{
-			current = document.getCharAndIncrement();
-			if (i != 2)
-			{
-				if (current < '0' || current > '9')
-				{
-					document.rewindToPin();
-					return null;
-				}
-
-				prefixBuilder.append(current);
-				continue;
-			}
-
-			if (current != ':')
-			{
-				document.rewindToPin();
-				return null;
-			}
+			document.rewindToPin();
+			return null;
+		}
 
-			prefixBuilder.append(':');
+		int minutes = readDigits(document, 2);
+		if (minutes == -1)
+		{
+			document.rewindToPin();
+			return null;
 		}
 
-		String[] split = prefixBuilder.toString().split(":");
-		if (Integer.parseInt(split[0]) >= 24)
+		if (hours >= 24)
+		{
+			document.rewindToPin();
+			throw TomlSyntaxException.of("Invalid hour offset \"" + String.format("%c%02d", sign, hours) + "\", expected 00-23", document);
+		}
+		if (minutes >= 60)
 		{
 			document.rewindToPin();
-			throw TomlSyntaxException.of("Invalid hour offset \"" + split[0] + "\", expected 00-23", document);
+			throw TomlSyntaxException.of("Invalid minute offset \"" + String.format("%02d", minutes) + "\", expected 00-59", document);
 		}
-		if (Integer.parseInt(split[1]) >= 60)
+
+		int totalMinutes = hours * 60 + minutes;
+		if (totalMinutes > MAXIMUM_OFFSET_MINUTES)
 		{
 			document.rewindToPin();
-			throw TomlSyntaxException.of("Invalid minute offset \"" + split[0] + "\", expected 00-59", document);
+			throw TomlSyntaxException.of("Invalid offset \"" + String.format("%c%02d:%02d", sign, hours, minutes) + "\", expected -18:00 to +18:00", document);
 		}
 
 		document.removePin();
-		ZoneOffset offset = ZoneOffset.of(prefixBuilder.toString());
+		return offset(sign == '-' ? -totalMinutes : totalMinutes);
+	}
+
+	/**
+	 * Gets a zone offset by its total minutes, shared between every literal with that offset.
+	 */
+	private static ZoneOffset offset(
+		int totalMinutes
+	) {
+		ZoneOffset offset = OFFSETS[totalMinutes + MAXIMUM_OFFSET_MINUTES];
+		if (offset == null)
+		{
+			offset = ZoneOffset.ofTotalSeconds(totalMinutes * 60);
+			OFFSETS[totalMinutes + MAXIMUM_OFFSET_MINUTES] = offset;
+		}
+
 		return offset;
 	}
 
-	private static boolean isOneOfChars(
-		char input,
-		char... possibleChars
+	/**
+	 * Reads a fixed number of decimal digits.
+	 *
+	 * @return The value of the digits, or -1 if a character is not a digit.
+	 */
+	private static int readDigits(
+		Document document,
+		int length
 	) {
-		for (char c : possibleChars)
+		int value = 0;
+		for (int i = 0; i < length; i++)
 		{
-			if (c == input)
+			char current = document.getCharAndIncrement();
+			if (current < '0' || current > '9')
 			{
-				return true;
+				return -1;
 			}
+
+			value = value * 10 + (current - '0');
+		}
+
+		return value;
+	}
+
+	/**
+	 * Gets whether or not a character may end a time.
+	 */
+	private static boolean isTimeTerminator(
+		char character
+	) {
+		return switch (character) {
+			case '+', '-', 'z', 'Z', '#', ',' -> true;
+			default -> Character.isWhitespace(character);
+		};
+	}
+
+	//
+	// Writers
+	//
+
+	// YYYY-MM-DD
+	public static void writeDate(
+		LocalDate date,
+		Appendable output
+	) throws
+		IOException
+	{
+		int year = date.getYear();
+		if (year < 0)
+		{
+			output.append('-');
+			year = -year;
+		}
+
+		writeDigits(year, YEAR_LENGTH, output);
+		output.append('-');
+		writeDigits(date.getMonthValue(), MONTH_OR_DAY_LENGTH, output);
+		output.append('-');
+		writeDigits(date.getDayOfMonth(), MONTH_OR_DAY_LENGTH, output);
+	}
+
+	// HH:MM:SS.NNNNNNNNN, with trailing zeros removed from the fraction
+	public static void writeTime(
+		LocalTime time,
+		Appendable output
+	) throws
+		IOException
+	{
+		writeDigits(time.getHour(), 2, output);
+		output.append(':');
+		writeDigits(time.getMinute(), 2, output);
+		output.append(':');
+		writeDigits(time.getSecond(), 2, output);
+
+		int nanos = time.getNano();
+		if (nanos == 0)
+		{
+			return;
+		}
+
+		int length = NANOSECOND_LENGTH;
+		while (nanos % 10 == 0)
+		{
+			nanos /= 10;
+			length--;
+		}
+
+		output.append('.');
+		writeDigits(nanos, length, output);
+	}
+
+	// YYYY-MM-DDTHH:MM:SS.NNNNNNNNN
+	public static void writeDateTime(
+		LocalDateTime dateTime,
+		Appendable output
+	) throws
+		IOException
+	{
+		writeDate(dateTime.toLocalDate(), output);
+		output.append('T');
+		writeTime(dateTime.toLocalTime(), output);
+	}
+
+	// YYYY-MM-DDTHH:MM:SS.NNNNNNNNN+HH:MM
+	public static void writeOffsetDateTime(
+		OffsetDateTime dateTime,
+		Appendable output
+	) throws
+		IOException
+	{
+		writeDateTime(dateTime.toLocalDateTime(), output);
+		output.append(dateTime.getOffset().getId());
+	}
+
+	/**
+	 * Writes a non-negative value, padded with leading zeros to the given length.
+	 */
+	private static void writeDigits(
+		int value,
+		int length,
+		Appendable output
+	) throws
+		IOException
+	{
+		int divisor = 1;
+		int digits = 1;
+		while (divisor <= value / 10)
+		{
+			divisor *= 10;
+			digits++;
 		}
 
-		return false;
+		for (; digits < length; digits++)
+		{
+			output.append('0');
+		}
+
+		for (; divisor > 0; divisor /= 10)
+		{
+			output.append((char) ('0' + (value / divisor) % 10));
+		}
 	}
 
-	private static enum TimeComponent
+	/**
+	 * The last date/time literal recognized by a session, so that each date/time symbol tried at the same position does not scan it again.
+	 * Only used by the session's own thread.
+	 */
+	static final class TemporalMemo
 	{
-		HOUR,
-		MINUTE,
-		SECOND,
-		MILLISECOND
-		;
+		private Document document = null;
+		private int start = -1;
+		private int end = -1;
+		private Temporal temporal = null;
+
+		private boolean isAt(
+			Document document,
+			int start
+		) {
+			return this.document == document && this.start == start;
+		}
+
+		private void remember(
+			Document document,
+			int start,
+			Temporal temporal,
+			int end
+		) {
+			this.document = document;
+			this.start = start;
+			this.temporal = temporal;
+			this.end = end;
+		}
+
+		private Temporal getTemporal()
+		{
+			return this.temporal;
+		}
+
+		private int getEnd()
+		{
+			return this.end;
+		}
 	}
 }
@@ -0,0 +1,104 @@
+/*
+ * Lilac, a Java TOML lanugage library
+ * Copyright (C) 2026 Hailey-Jane "Khyonie" Garrett
+ */
+package coffee.khyonieheart.lilac.symbol;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * First-character dispatch tables for next-symbol collections.
+ *
+ * For each collection returned by {@link Symbol#getNextSymbols(coffee.khyonieheart.lilac.TomlDecoder)}, a 128-entry table is built which maps
+ * an ASCII character to the symbols in that collection which may start with it, in their original order.
+ * Non-ASCII characters map to the entire collection.
+ *
+ * Tables are keyed by collection identity, so next-symbol collections are expected to be constants which are not modified after first use.
+ *
+ * @since 2.2.0
+ */
+public final class SymbolDispatch
+{
+	private static final int ASCII_RANGE = 128;
+	private static final int NON_ASCII_INDEX = ASCII_RANGE;
+	private static final int MAX_CACHED_TABLES = 256;
+
+	/** Copy-on-write, so lookups need no locking */
+	private static volatile Map<Collection<Class<? extends Symbol<?>>>, Class<? extends Symbol<?>>[][]> tables = new IdentityHashMap<>();
+
+	/** Static utility class. */
+	private SymbolDispatch() {}
+
+	/**
+	 * Gets the symbols from the given collection which may start with the given character.
+	 *
+	 * @param symbols Next-symbol collection
+	 * @param next Next non-whitespace character in the document
+	 *
+	 * @return Candidate symbols, in the same order as the given collection. Must not be modified.
+	 */
+	public static Class<? extends Symbol<?>>[] getCandidates(
+		Collection<Class<? extends Symbol<?>>> symbols,
+		char next
+	) {
+		Class<? extends Symbol<?>>[][] table = tables.get(symbols);
+
+		if (table == null)
+		{
+			table = createTable(Objects.requireNonNull(symbols));
+		}
+
+		return table[next < ASCII_RANGE ? next : NON_ASCII_INDEX];
+	}
+
+	@SuppressWarnings("unchecked")
+	private static synchronized Class<? extends Symbol<?>>[][] createTable(
+		Collection<Class<? extends Symbol<?>>> symbols
+	) {
+		Class<? extends Symbol<?>>[][] table = tables.get(symbols);
+		if (table != null)
+		{
+			return table;
+		}
+
+		// Probe instances are only used to ask which characters they may start with
+		List<Class<? extends Symbol<?>>> symbolClasses = new ArrayList<>(symbols);
+		List<Symbol<?>> probes = new ArrayList<>(symbolClasses.size());
+		for (Class<? extends Symbol<?>> symbolClass : symbolClasses)
+		{
+			probes.add(SymbolFactory.create(symbolClass));
+		}
+
+		table = (Class<? extends Symbol<?>>[][]) new Class<?>[ASCII_RANGE + 1][];
+		List<Class<? extends Symbol<?>>> candidates = new ArrayList<>(symbols.size());
+		for (char character = 0; character < ASCII_RANGE; character++)
+		{
+			candidates.clear();
+			for (int i = 0; i < probes.size(); i++)
+			{
+				if (probes.get(i).canStartWith(character))
+				{
+					candidates.add(symbolClasses.get(i));
+				}
+			}
+
+			table[character] = candidates.toArray((Class<? extends Symbol<?>>[]) new Class<?>[candidates.size()]);
+		}
+		table[NON_ASCII_INDEX] = symbolClasses.toArray((Class<? extends Symbol<?>>[]) new Class<?>[symbolClasses.size()]);
+
+		// Collections created per call would grow the cache forever, so stop caching past a sane limit
+		if (tables.size() < MAX_CACHED_TABLES)
+		{
+			Map<Collection<Class<? extends Symbol<?>>>, Class<? extends Symbol<?>>[][]> copy = new IdentityHashMap<>(tables);
+			copy.put(symbols, table);
+			tables = copy;
+		}
+
+		return table;
+	}
+}
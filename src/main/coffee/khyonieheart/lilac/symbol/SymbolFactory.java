@@ -0,0 +1,123 @@
+/*
+ * Lilac, a Java TOML lanugage library
+ * Copyright (C) 2026 Hailey-Jane "Khyonie" Garrett
+ */
+package coffee.khyonieheart.lilac.symbol;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Supplier;
+
+import coffee.khyonieheart.lilac.symbol.key.TomlBareKey;
+import coffee.khyonieheart.lilac.symbol.key.TomlLiteralKey;
+import coffee.khyonieheart.lilac.symbol.key.TomlQuotedKey;
+import coffee.khyonieheart.lilac.symbol.string.TomlLiteralString;
+import coffee.khyonieheart.lilac.symbol.string.TomlMultilineLiteralString;
+import coffee.khyonieheart.lilac.symbol.string.TomlMultilineString;
+import coffee.khyonieheart.lilac.symbol.string.TomlRegularString;
+import coffee.khyonieheart.lilac.symbol.time.TomlDate;
+import coffee.khyonieheart.lilac.symbol.time.TomlDateTime;
+import coffee.khyonieheart.lilac.symbol.time.TomlOffsetDateTime;
+import coffee.khyonieheart.lilac.symbol.time.TomlTime;
+
+/**
+ * Creates symbol instances without reflection.
+ *
+ * All built-in symbols are registered with a constructor reference when this class loads.
+ * Symbols which aren't registered fall back to being created reflectively through their no-args constructor.
+ *
+ * @since 2.2.0
+ */
+public final class SymbolFactory
+{
+	private static final Map<Class<? extends Symbol<?>>, Supplier<? extends Symbol<?>>> FACTORIES = new IdentityHashMap<>();
+
+	static {
+		// Structure
+		FACTORIES.put(TomlStartOfDocument.class, TomlStartOfDocument::new);
+		FACTORIES.put(TomlEndOfDocument.class, TomlEndOfDocument::new);
+		FACTORIES.put(TomlNewline.class, TomlNewline::new);
+		FACTORIES.put(TomlComment.class, TomlComment::new);
+		FACTORIES.put(TomlEquals.class, TomlEquals::new);
+		FACTORIES.put(TomlKeySeparator.class, TomlKeySeparator::new);
+		FACTORIES.put(TomlArraySeparator.class, TomlArraySeparator::new);
+		FACTORIES.put(TomlStartTable.class, TomlStartTable::new);
+		FACTORIES.put(TomlEndTable.class, TomlEndTable::new);
+		FACTORIES.put(TomlStartArrayTable.class, TomlStartArrayTable::new);
+		FACTORIES.put(TomlEndArrayTable.class, TomlEndArrayTable::new);
+		FACTORIES.put(TomlStartArray.class, TomlStartArray::new);
+		FACTORIES.put(TomlEndArray.class, TomlEndArray::new);
+		FACTORIES.put(TomlStartInlineTable.class, TomlStartInlineTable::new);
+		FACTORIES.put(TomlEndInlineTable.class, TomlEndInlineTable::new);
+
+		// Keys
+		FACTORIES.put(TomlBareKey.class, TomlBareKey::new);
+		FACTORIES.put(TomlQuotedKey.class, TomlQuotedKey::new);
+		FACTORIES.put(TomlLiteralKey.class, TomlLiteralKey::new);
+
+		// Values
+		FACTORIES.put(TomlBoolean.class, TomlBoolean::new);
+		FACTORIES.put(TomlDecimal.class, TomlDecimal::new);
+		FACTORIES.put(TomlFloat.class, TomlFloat::new);
+		FACTORIES.put(TomlRegularString.class, TomlRegularString::new);
+		FACTORIES.put(TomlLiteralString.class, TomlLiteralString::new);
+		FACTORIES.put(TomlMultilineString.class, TomlMultilineString::new);
+		FACTORIES.put(TomlMultilineLiteralString.class, TomlMultilineLiteralString::new);
+		FACTORIES.put(TomlOffsetDateTime.class, TomlOffsetDateTime::new);
+		FACTORIES.put(TomlDateTime.class, TomlDateTime::new);
+		FACTORIES.put(TomlDate.class, TomlDate::new);
+		FACTORIES.put(TomlTime.class, TomlTime::new);
+	}
+
+	/** Static utility class. */
+	private SymbolFactory() {}
+
+	/**
+	 * Creates a new instance of the given symbol.
+	 *
+	 * @param symbol Symbol type
+	 *
+	 * @return A new symbol instance.
+	 * @throws IllegalStateException Thrown if an unregistered symbol cannot be created reflectively.
+	 */
+	public static Symbol<?> create(
+		Class<? extends Symbol<?>> symbol
+	) {
+		Supplier<? extends Symbol<?>> factory = FACTORIES.get(Objects.requireNonNull(symbol));
+
+		if (factory == null)
+		{
+			return createReflectively(symbol);
+		}
+
+		return factory.get();
+	}
+
+	/**
+	 * Gets whether or not the given symbol can be created without reflection.
+	 *
+	 * @param symbol Symbol type
+	 *
+	 * @return Whether or not the symbol is registered.
+	 */
+	public static boolean isRegistered(
+		Class<? extends Symbol<?>> symbol
+	) {
+		return FACTORIES.containsKey(symbol);
+	}
+
+	private static Symbol<?> createReflectively(
+		Class<? extends Symbol<?>> symbol
+	) {
+		try {
+			Constructor<? extends Symbol<?>> constructor = symbol.getConstructor();
+
+			return constructor.newInstance();
+		} catch (NoSuchMethodException | InvocationTargetException | IllegalAccessException | InstantiationException e) {
+			throw new IllegalStateException("Failed to create instance of symbol " + symbol.getName(), e);
+		}
+	}
+}
@@ -71,4 +71,10 @@ public class TomlArraySeparator extends Symbol<String>
 			case ROOT -> throw new IllegalStateException("Context not valid for lexeme");
 		};
 	}
+
+	@Override
+	public boolean canStartWith(char character)
+	{
+		return character == ',';
+	}
 }
@@ -60,6 +60,16 @@ public class TomlBoolean extends Symbol<Boolean>
 		return this.value;
 	}
 
+	/**
+	 * Gets the value of this symbol without boxing.
+	 *
+	 * @return The value of this symbol.
+	 */
+	public boolean getBooleanValue()
+	{
+		return this.value;
+	}
+
 	@Override
 	public SymbolType getType() 
 	{
@@ -80,4 +90,10 @@ public class TomlBoolean extends Symbol<Boolean>
 			case ROOT -> NEXT_SYMBOLS;
 		};
 	}
+
+	@Override
+	public boolean canStartWith(char character)
+	{
+		return character == 't' || character == 'f';
+	}
 }
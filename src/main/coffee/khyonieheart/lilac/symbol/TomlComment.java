@@ -111,4 +111,10 @@ public class TomlComment extends Symbol<String>
 
 		return ARRAY_NEXT_SYMBOLS;
 	}
+
+	@Override
+	public boolean canStartWith(char character)
+	{
+		return character == '#';
+	}
 }
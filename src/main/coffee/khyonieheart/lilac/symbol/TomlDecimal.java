@@ -38,8 +38,6 @@ public class TomlDecimal extends Symbol<Long>
 		char prefix = NULL_PREFIX;
 		int numberBase = BASE_DECIMAL;
 
-		StringBuilder builder = new StringBuilder();
-
 		// Plus or minus sign
 		switch (current)
 		{
@@ -101,13 +99,21 @@ public class TomlDecimal extends Symbol<Long>
 		}
 
 		// Make sure the value starts with a valid number
-		if (!isValidWithinBase(document.getCharAtPointer(), numberBase))
+		if (digit(document.getCharAtPointer(), numberBase) == -1)
 		{
 			//throw TomlSyntaxException.of("Illegal character '" + document.getCharAtPointer() + "' in number literal, expected any character valid for a base " + numberBase + " literal", document);
 			document.rewindToPin();
 			return false;
 		}
 
+		// Accumulated as a negative number, so that Long.MIN_VALUE can be read
+		long limit = (prefix == NEGATIVE_SIGN) ? Long.MIN_VALUE : -Long.MAX_VALUE;
+		long multiplyLimit = limit / numberBase;
+		long result = 0;
+
+		// Only reported once the whole literal has been read, as it may still turn out to be a float or a time
+		boolean overflow = false;
+
 		// Read number
 		while (document.hasNext())
 		{
@@ -131,31 +137,34 @@ public class TomlDecimal extends Symbol<Long>
 			{
 				current = document.incrementPointer().getCharAtPointer();
 				
-				if (!isValidWithinBase(current, numberBase))
+				if (digit(current, numberBase) == -1)
 				{
 					throw TomlSyntaxException.of("Underscore separator in number literal must be surrounded with valid digits", document);
 				}
-
-				builder.append(document.getCharAndIncrement());
-				continue;
 			}
 
-			if (!isValidWithinBase(current, numberBase))
+			int digit = digit(current, numberBase);
+			if (digit == -1)
 			{
 				throw TomlSyntaxException.of("Illegal character '" + current + "' in number literal, expected any character valid for a base " + numberBase + " literal", document);
 			}
 
-			builder.append(current);
+			if (result < multiplyLimit || result * numberBase < limit + digit)
+			{
+				overflow = true;
+			} else {
+				result = result * numberBase - digit;
+			}
+
 			document.incrementPointer();
 		}
 
-		// Insert ± prefix if applicable
-		if (prefix != NULL_PREFIX)
+		if (overflow)
 		{
-			builder.insert(0, prefix);
+			throw TomlSyntaxException.of("Integer literal is out of range for a 64-bit signed integer", document);
 		}
 
-		this.value = Long.parseLong(builder.toString(), numberBase);
+		this.value = (prefix == NEGATIVE_SIGN) ? result : -result;
 		symbols.push(this);
 
 		return true;
@@ -167,6 +176,16 @@ public class TomlDecimal extends Symbol<Long>
 		return this.value;
 	}
 
+	/**
+	 * Gets the value of this symbol without boxing.
+	 *
+	 * @return The value of this symbol.
+	 */
+	public long getLongValue()
+	{
+		return this.value;
+	}
+
 	@Override
 	public SymbolType getType() 
 	{
@@ -188,27 +207,33 @@ public class TomlDecimal extends Symbol<Long>
 		};
 	}
 
+	@Override
+	public boolean canStartWith(char character)
+	{
+		return (character >= '0' && character <= '9') || character == POSITIVE_SIGN || character == NEGATIVE_SIGN;
+	}
+
 	/**
-	 * Checks if a char value is a valid number component.
+	 * Gets the value of a digit.
+	 *
+	 * @return The value of the digit, or -1 if it is not a valid digit in the given base.
 	 */
-	private static boolean isValidWithinBase(
+	private static int digit(
 		char value,
 		int base
 	) {
-		return switch (base) {
-			case BASE_HEXADECIMAL -> {
-				yield (value >= '0' && value <= '9') // Decimal
-					|| (value >= 'a' && value <= 'f') // Lowercase hex
-					|| (value >= 'A' && value <= 'F'); // Uppercase hex
-			}
-			case BASE_DECIMAL -> {
-				yield (value >= '0' && value <= '9');
-			}
-			case BASE_OCTAL -> {
-				yield (value >= '0' && value <= '7');
-			}
-			case BASE_BINARY -> value == '0' || value == '1';
-			default -> throw new IllegalStateException();
-		};
+		int digit;
+		if (value >= '0' && value <= '9')
+		{
+			digit = value - '0';
+		} else if (value >= 'a' && value <= 'f') {
+			digit = value - 'a' + 10;
+		} else if (value >= 'A' && value <= 'F') {
+			digit = value - 'A' + 10;
+		} else {
+			return -1;
+		}
+
+		return digit < base ? digit : -1;
 	}
 }
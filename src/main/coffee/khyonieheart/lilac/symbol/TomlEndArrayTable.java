@@ -49,4 +49,10 @@ public class TomlEndArrayTable extends Symbol<String>
 	{
 		return NEXT_SYMBOLS;
 	}
+
+	@Override
+	public boolean canStartWith(char character)
+	{
+		return character == ']';
+	}
 }
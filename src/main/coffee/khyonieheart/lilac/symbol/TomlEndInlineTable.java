@@ -62,4 +62,10 @@ public class TomlEndInlineTable extends Symbol<String>
 			case ROOT -> NEXT_SYMBOLS;
 		};
 	}
+
+	@Override
+	public boolean canStartWith(char character)
+	{
+		return character == '}';
+	}
 }
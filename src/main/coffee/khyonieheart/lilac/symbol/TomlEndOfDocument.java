@@ -44,4 +44,10 @@ public class TomlEndOfDocument extends Symbol<String>
 	{
 		return NEXT_SYMBOLS;
 	}
+
+	@Override
+	public boolean canStartWith(char character)
+	{
+		return false; // Only matches once no characters remain
+	}
 }
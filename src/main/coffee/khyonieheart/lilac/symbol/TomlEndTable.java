@@ -47,4 +47,10 @@ public class TomlEndTable extends Symbol<String>
 	{
 		return NEXT_SYMBOLS;
 	}
+
+	@Override
+	public boolean canStartWith(char character)
+	{
+		return character == ']';
+	}
 }
@@ -45,4 +45,10 @@ public class TomlEquals extends Symbol<String>
 	{
 		return NEXT_SYMBOLS;
 	}
+
+	@Override
+	public boolean canStartWith(char character)
+	{
+		return character == '=';
+	}
 }
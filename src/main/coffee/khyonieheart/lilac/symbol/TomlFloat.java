@@ -9,6 +9,7 @@ import java.util.Deque;
 import java.util.List;
 
 import coffee.khyonieheart.lilac.Document;
+import coffee.khyonieheart.lilac.LilacFloats;
 import coffee.khyonieheart.lilac.TomlDecoder;
 import coffee.khyonieheart.lilac.TomlSyntaxException;
 import coffee.khyonieheart.lilac.TomlWarning;
@@ -16,13 +17,24 @@ import coffee.khyonieheart.lilac.symbol.key.TomlBareKey;
 import coffee.khyonieheart.lilac.symbol.key.TomlLiteralKey;
 import coffee.khyonieheart.lilac.symbol.key.TomlQuotedKey;
 
-public class TomlFloat extends Symbol<Float> 
+public class TomlFloat extends Symbol<Number> 
 {
-	private float value;
+	private double value;
+	private boolean doublePrecision;
 	private static final List<Class<? extends Symbol<?>>> NEXT_SYMBOLS = List.of(TomlComment.class, TomlStartArrayTable.class, TomlStartTable.class, TomlArraySeparator.class, TomlEndInlineTable.class, TomlEndArray.class, TomlQuotedKey.class, TomlLiteralKey.class, TomlBareKey.class, TomlEndOfDocument.class);
 	private static final Collection<Class<? extends Symbol<?>>> INLINE_NEXT_SYMBOLS = List.of(TomlComment.class, TomlArraySeparator.class, TomlEndInlineTable.class);
 	private static final Collection<Class<? extends Symbol<?>>> ARRAY_NEXT_SYMBOLS = List.of(TomlComment.class, TomlArraySeparator.class, TomlEndArray.class);
-	private static boolean warned = false;
+
+	// Limit on the exponent as it is read, well past the range of a double
+	private static final int MAXIMUM_EXPONENT = 100_000;
+
+	// Digits read so far
+	private long significand;
+	private int significantDigits;
+	private int decimalExponent;
+	private boolean truncated;
+	private int exponent;
+	private boolean negativeExponent;
 
 	// [+-]?(\d+).(\d+)
 	//
@@ -35,12 +47,20 @@ public class TomlFloat extends Symbol<Float>
 			return false;
 		}
 
-		StringBuilder builder = new StringBuilder();
+		this.doublePrecision = decoder.isDoublePrecision();
+		this.significand = 0;
+		this.significantDigits = 0;
+		this.decimalExponent = 0;
+		this.truncated = false;
+		this.exponent = 0;
+		this.negativeExponent = false;
+
+		boolean negative = false;
 		document.pinPointer();
 
 		if (document.getCharAtPointer() == '+' || document.getCharAtPointer() == '-')
 		{
-			builder.append(document.getCharAtPointer());
+			negative = document.getCharAtPointer() == '-';
 			document.incrementPointer();
 		}
 
@@ -51,7 +71,7 @@ public class TomlFloat extends Symbol<Float>
 			if (document.getCharAndIncrement() == 'n' && document.getCharAndIncrement() == 'f')
 			{
 				symbols.push(this);
-				this.value = builder.toString().equals("-") ? Float.NEGATIVE_INFINITY : Float.POSITIVE_INFINITY;
+				this.value = negative ? Double.NEGATIVE_INFINITY : Double.POSITIVE_INFINITY;
 				return true;
 			}
 
@@ -67,16 +87,15 @@ public class TomlFloat extends Symbol<Float>
 			{
 				symbols.push(this);
 
-				if (builder.toString().equals("-"))
+				if (negative)
 				{
-					if (decoder.isWarningEnabled(TomlWarning.UNSUPPORTED_NEGATIVE_NaN) && !warned)
+					if (decoder.isWarningEnabled(TomlWarning.UNSUPPORTED_NEGATIVE_NaN))
 					{
 						decoder.sendWarning(TomlWarning.UNSUPPORTED_NEGATIVE_NaN, "TOML warning: Java does not support the -NaN literal. Using +NaN instead.");
-						warned = true;
 					}
 				}
 
-				this.value = Float.NaN;
+				this.value = Double.NaN;
 				return true;
 			}
 
@@ -101,11 +120,10 @@ public class TomlFloat extends Symbol<Float>
 				}
 
 				document.incrementPointer();
-				builder.append(current);
 				isExponential = true;
 				if (document.getCharAtPointer() == '-' || document.getCharAtPointer() == '+')
 				{
-					builder.append(document.getCharAndIncrement());
+					this.negativeExponent = document.getCharAndIncrement() == '-';
 				}
 
 				if (document.getCharAtPointer() < '0' || document.getCharAtPointer() > '9')
@@ -132,7 +150,6 @@ public class TomlFloat extends Symbol<Float>
 					throw TomlSyntaxException.of("Float literal may not have a leading '.' dot mark", document);
 				}
 
-				builder.append(current);
 				document.incrementPointer();
 
 				if (document.getCharAtPointer() < '0' || document.getCharAtPointer() > '9')
@@ -154,7 +171,7 @@ public class TomlFloat extends Symbol<Float>
 					throw TomlSyntaxException.of("Underscore must be followed by digit, found " + current, document);
 				}
 
-				builder.append(document.getCharAndIncrement());
+				this.accumulate(document.getCharAndIncrement(), isExponential, dotPresent);
 				continue;
 			}
 
@@ -190,7 +207,7 @@ public class TomlFloat extends Symbol<Float>
 
 			isLeading = false;
 			document.incrementPointer();
-			builder.append(current);
+			this.accumulate(current, isExponential, dotPresent);
 		}
 
 		if (!dotPresent && !isExponential)
@@ -199,15 +216,127 @@ public class TomlFloat extends Symbol<Float>
 			return false;
 		}
 
-		this.value = Float.parseFloat(builder.toString());
+		int totalExponent = decimalExponent + (negativeExponent ? -exponent : exponent);
+		double magnitude = truncated ? LilacFloats.toDoubleTruncated(significand, totalExponent) : LilacFloats.toDouble(significand, totalExponent);
+		if (!doublePrecision && magnitude == magnitude)
+		{
+			magnitude = LilacFloats.toFloat(magnitude);
+		}
+
+		// Rare cases which cannot be decided from the digits read
+		if (magnitude != magnitude)
+		{
+			String literal = readLiteral(document);
+			this.value = doublePrecision ? Double.parseDouble(literal) : Float.parseFloat(literal);
+		} else {
+			this.value = negative ? -magnitude : magnitude;
+		}
+
 		symbols.push(this);
 		return true;
 	}
 
+	/**
+	 * Adds a digit to the significand or the exponent. Only the first {@link LilacFloats#MAXIMUM_DIGITS} significant digits are kept.
+	 */
+	private void accumulate(
+		char digit,
+		boolean isExponential,
+		boolean dotPresent
+	) {
+		int value = digit - '0';
+
+		if (isExponential)
+		{
+			this.exponent = Math.min(this.exponent * 10 + value, MAXIMUM_EXPONENT);
+			return;
+		}
+
+		// Leading zeros
+		if (significantDigits == 0 && value == 0)
+		{
+			if (dotPresent)
+			{
+				decimalExponent--;
+			}
+			return;
+		}
+
+		if (significantDigits < LilacFloats.MAXIMUM_DIGITS)
+		{
+			significand = significand * 10 + value;
+			significantDigits++;
+
+			if (dotPresent)
+			{
+				decimalExponent--;
+			}
+			return;
+		}
+
+		// Past the kept digits
+		truncated |= value != 0;
+		if (!dotPresent)
+		{
+			decimalExponent++;
+		}
+	}
+
+	/**
+	 * Reads the literal again from the pin, without underscores.
+	 */
+	private static String readLiteral(
+		Document document
+	) {
+		int end = document.getPointer();
+		document.rewindToPin();
+		document.pinPointer();
+
+		StringBuilder builder = new StringBuilder(end - document.getPointer());
+		while (document.getPointer() < end)
+		{
+			char current = document.getCharAndIncrement();
+			if (current != '_')
+			{
+				builder.append(current);
+			}
+		}
+
+		return builder.toString();
+	}
+
+	/**
+	 * Gets the value of this symbol, as a {@link Double} if the decoder uses double precision, or as a {@link Float} otherwise.
+	 */
 	@Override
-	public Float getValue() 
+	public Number getValue() 
 	{
-		return value;
+		if (doublePrecision)
+		{
+			return this.value;
+		}
+
+		return (float) this.value;
+	}
+
+	/**
+	 * Gets the value of this symbol without boxing.
+	 *
+	 * @return The value of this symbol.
+	 */
+	public float getFloatValue()
+	{
+		return (float) this.value;
+	}
+
+	/**
+	 * Gets the value of this symbol without boxing. Only more precise than {@link #getFloatValue()} if the decoder uses double precision.
+	 *
+	 * @return The value of this symbol.
+	 */
+	public double getDoubleValue()
+	{
+		return this.value;
 	}
 
 	@Override
@@ -230,4 +359,19 @@ public class TomlFloat extends Symbol<Float>
 			case ROOT -> NEXT_SYMBOLS;
 		};
 	}
+
+	@Override
+	public boolean canStartWith(char character)
+	{
+		// Exponent marks, dots, and underscores are rejected with an error rather than skipped
+		return (character >= '0' && character <= '9')
+			|| character == '+'
+			|| character == '-'
+			|| character == 'i'
+			|| character == 'n'
+			|| character == 'e'
+			|| character == 'E'
+			|| character == '.'
+			|| character == '_';
+	}
 }
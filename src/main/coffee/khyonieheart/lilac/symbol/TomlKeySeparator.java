@@ -48,4 +48,10 @@ public class TomlKeySeparator extends Symbol<String>
 	{
 		return NEXT_SYMBOLS;
 	}
+
+	@Override
+	public boolean canStartWith(char character)
+	{
+		return character == '.';
+	}
 }
@@ -18,7 +18,6 @@ import coffee.khyonieheart.lilac.TomlWarning;
 public class TomlNewline extends Symbol<String>
 {
 	private static final List<Class<? extends Symbol<?>>> NEXT_SYMBOLS = TomlStartOfDocument.NEXT_SYMBOLS;
-	private static boolean warned = false;
 
 	private static final String NEWLINE_DISALLOWED_MESSAGE = "Newlines are disallowed at this location";
 
@@ -61,10 +60,9 @@ public class TomlNewline extends Symbol<String>
 				throw TomlSyntaxException.of("Inline tables cannot be broken into multiple lines", document);
 			}
 
-			if (decoder.isWarningEnabled(TomlWarning.MULTILINE_INLINE_TABLE) && !warned)
+			if (decoder.isWarningEnabled(TomlWarning.MULTILINE_INLINE_TABLE))
 			{
 				decoder.sendWarning(TomlWarning.MULTILINE_INLINE_TABLE, "TOML warning: breaking an inline table into multiple lines is discouraged. Consider using a regular table instead.");
-				warned = true;
 			}
 		}
 
@@ -89,4 +87,10 @@ public class TomlNewline extends Symbol<String>
 	{
 		return NEXT_SYMBOLS;
 	}
+
+	@Override
+	public boolean canStartWith(char character)
+	{
+		return character == '\n';
+	}
 }
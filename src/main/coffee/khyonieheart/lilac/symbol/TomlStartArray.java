@@ -57,4 +57,10 @@ public class TomlStartArray extends Symbol<String>
 	{
 		return NEXT_SYMBOLS;
 	}
+
+	@Override
+	public boolean canStartWith(char character)
+	{
+		return character == '[';
+	}
 }
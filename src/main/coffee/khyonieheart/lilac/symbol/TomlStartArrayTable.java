@@ -52,4 +52,10 @@ public class TomlStartArrayTable extends Symbol<String>
 	{
 		return NEXT_SYMBOLS;
 	}
+
+	@Override
+	public boolean canStartWith(char character)
+	{
+		return character == '[';
+	}
 }
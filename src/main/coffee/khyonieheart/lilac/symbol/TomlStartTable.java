@@ -50,4 +50,10 @@ public class TomlStartTable extends Symbol<String>
 	{
 		return NEXT_SYMBOLS;
 	}
+
+	@Override
+	public boolean canStartWith(char character)
+	{
+		return character == '[';
+	}
 }
@@ -89,4 +89,10 @@ public class TomlBareKey extends Symbol<String>
 	{
 		return NEXT_SYMBOLS;
 	}
+
+	@Override
+	public boolean canStartWith(char character)
+	{
+		return true; // Keys directly following a table header are rejected regardless of their first character
+	}
 }
@@ -55,4 +55,10 @@ public class TomlLiteralKey extends Symbol<String>
 	{
 		return NEXT_SYMBOLS;
 	}
+
+	@Override
+	public boolean canStartWith(char character)
+	{
+		return character == '\'';
+	}
 }
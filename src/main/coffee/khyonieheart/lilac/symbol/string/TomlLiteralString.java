@@ -72,4 +72,10 @@ public class TomlLiteralString extends Symbol<String>
 			case ROOT -> NEXT_SYMBOLS;
 		};
 	}
+
+	@Override
+	public boolean canStartWith(char character)
+	{
+		return character == '\'';
+	}
 }
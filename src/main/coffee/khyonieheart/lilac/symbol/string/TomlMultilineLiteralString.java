@@ -51,6 +51,12 @@ public class TomlMultilineLiteralString extends Symbol<String>
 
 		while (document.hasNext())
 		{
+			document.appendStringRun(builder, '\'', true);
+			if (!document.hasNext())
+			{
+				break;
+			}
+
 			char current = document.getCharAndIncrement();
 
 			if (current == '\'')
@@ -117,4 +123,10 @@ public class TomlMultilineLiteralString extends Symbol<String>
 			case ROOT -> NEXT_SYMBOLS;
 		};
 	}
+
+	@Override
+	public boolean canStartWith(char character)
+	{
+		return character == '\'';
+	}
 }
@@ -12,7 +12,6 @@ import coffee.khyonieheart.lilac.Document;
 import coffee.khyonieheart.lilac.LilacStrings;
 import coffee.khyonieheart.lilac.TomlDecoder;
 import coffee.khyonieheart.lilac.TomlSyntaxException;
-import coffee.khyonieheart.lilac.TomlVersion;
 import coffee.khyonieheart.lilac.symbol.Symbol;
 import coffee.khyonieheart.lilac.symbol.SymbolType;
 import coffee.khyonieheart.lilac.symbol.TomlArraySeparator;
@@ -54,6 +53,15 @@ public class TomlMultilineString extends Symbol<String>
 		boolean escaped = false;
 		while (document.hasNext())
 		{
+			if (!escaped)
+			{
+				document.appendStringRun(builder, '"', true);
+				if (!document.hasNext())
+				{
+					break;
+				}
+			}
+
 			char current = document.getCharAndIncrement();
 
 			if (current == '"' && !escaped)
@@ -89,64 +97,7 @@ public class TomlMultilineString extends Symbol<String>
 					case '\r' -> skipThroughWhitespace(document, false);
 					case '\t' -> skipThroughWhitespace(document, false);
 					case ' ' -> skipThroughWhitespace(document, false);
-					case 'e' -> {
-						if (decoder.getVersion() == TomlVersion.V1_1_0)
-						{
-							builder.append('\u001B');
-							continue;
-						}
-
-						throw TomlSyntaxException.of("ESC character literals '\\e' are not supported in TOML v1.0.0", document.hold());
-					}
-					case '"' -> builder.append(current);
-					case 't' -> builder.append('\t');
-					case 'n' -> builder.append('\n');
-					case 'r' -> builder.append('\r');
-					case 'f' -> builder.append('\f');
-					case '\\' -> builder.append(current);
-					case 'b' -> builder.append('\b');
-					case 'U' -> { // UTF-24
-						long codepoint = LilacStrings.readUTFCodepoint(document, 8);
-
-						if (codepoint >= '\uD800' && codepoint <= '\uDFFF')
-						{
-							throw TomlSyntaxException.of("Unicode surrogates cannot be used in unicode characters", document.hold(5));
-						}
-
-						if (codepoint > (char) 0x0010FFFF)
-						{
-							throw TomlSyntaxException.of("Out-of-range unicode literal", document.hold(9));
-						}
-
-						current = document.getCharAtPointer();
-						builder.append((char) codepoint);
-						continue;
-					}
-					case 'u' -> { // UTF-16
-						long codepoint = LilacStrings.readUTFCodepoint(document, 4);
-
-						if (codepoint >= '\uD800' && codepoint <= '\uDFFF')
-						{
-							throw TomlSyntaxException.of("Unicode surrogates cannot be used in unicode characters", document.hold(5));
-						}
-
-						current = document.getCharAtPointer();
-						builder.append((char) codepoint);
-						continue;
-					}
-					case 'x' -> { // UTF-8 hex
-						if (decoder.getVersion() != TomlVersion.V1_1_0)
-						{
-							throw TomlSyntaxException.of("Hex escaped character literals '\\x' are not supported in TOML v1.0.0", document.hold());
-						}
-
-						long codepoint = LilacStrings.readUTFCodepoint(document, 2);
-
-						current = document.getCharAtPointer();
-						builder.append((char) codepoint);
-						continue;
-					}
-					default -> throw TomlSyntaxException.of("Unrecognized escape sequence \"\\" + current + "\"", document.hold());
+					default -> LilacStrings.appendEscape(document, decoder, current, builder);
 				}
 				continue;
 			}
@@ -198,6 +149,12 @@ public class TomlMultilineString extends Symbol<String>
 		};
 	}
 
+	@Override
+	public boolean canStartWith(char character)
+	{
+		return character == '"';
+	}
+
 	private void skipThroughWhitespace(
 		Document document,
 		boolean startsOnNewline
@@ -35,7 +35,7 @@ public class TomlDate extends Symbol<LocalDate>
 	@Override
 	public boolean tryParse(Document document, TomlDecoder decoder, Deque<Symbol<?>> symbols) 
 	{
-		LocalDate date = LilacTimes.tryDate(document);
+		LocalDate date = LilacTimes.tryTemporal(document, decoder, LocalDate.class);
 		if (date == null)
 		{
 			return false;
@@ -72,4 +72,10 @@ public class TomlDate extends Symbol<LocalDate>
 			case ROOT -> NEXT_SYMBOLS;
 		};
 	}
+
+	@Override
+	public boolean canStartWith(char character)
+	{
+		return character >= '0' && character <= '9';
+	}
 }
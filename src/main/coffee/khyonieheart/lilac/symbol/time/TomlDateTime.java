@@ -4,9 +4,7 @@
  */ 
 package coffee.khyonieheart.lilac.symbol.time;
 
-import java.time.LocalDate;
 import java.time.LocalDateTime;
-import java.time.LocalTime;
 import java.util.Collection;
 import java.util.Deque;
 import java.util.List;
@@ -37,29 +35,14 @@ public class TomlDateTime extends Symbol<LocalDateTime>
 	@Override
 	public boolean tryParse(Document document, TomlDecoder decoder, Deque<Symbol<?>> symbols) 
 	{
-		document.pinPointer();
-		LocalDate date = LilacTimes.tryDate(document);
-		if (date == null)
+		LocalDateTime dateTime = LilacTimes.tryTemporal(document, decoder, LocalDateTime.class);
+		if (dateTime == null)
 		{
 			return false;
 		}
 
-		char current = document.getCharAndIncrement();
-		if (current != ' ' && current != 't' && current != 'T')
-		{
-			document.rewindToPin();
-			return false;
-		}
-
-		LocalTime time = LilacTimes.tryTime(document, decoder);
-		if (time == null)
-		{
-			document.rewindToPin();
-			return false;
-		}
-
 		symbols.push(this);
-		this.value = LocalDateTime.of(date, time);
+		this.value = dateTime;
 		return true;
 	}
 
@@ -89,4 +72,10 @@ public class TomlDateTime extends Symbol<LocalDateTime>
 			case ROOT -> NEXT_SYMBOLS;
 		};
 	}
+
+	@Override
+	public boolean canStartWith(char character)
+	{
+		return character >= '0' && character <= '9';
+	}
 }
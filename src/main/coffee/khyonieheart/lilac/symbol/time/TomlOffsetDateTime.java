@@ -4,10 +4,7 @@
  */ 
 package coffee.khyonieheart.lilac.symbol.time;
 
-import java.time.LocalDate;
-import java.time.LocalTime;
 import java.time.OffsetDateTime;
-import java.time.ZoneOffset;
 import java.util.Collection;
 import java.util.Deque;
 import java.util.List;
@@ -38,36 +35,14 @@ public class TomlOffsetDateTime extends Symbol<OffsetDateTime>
 	@Override
 	public boolean tryParse(Document document, TomlDecoder decoder, Deque<Symbol<?>> symbols) 
 	{
-		document.pinPointer();
-		LocalDate date = LilacTimes.tryDate(document);
-		if (date == null)
+		OffsetDateTime dateTime = LilacTimes.tryTemporal(document, decoder, OffsetDateTime.class);
+		if (dateTime == null)
 		{
 			return false;
 		}
 
-		char current = document.getCharAndIncrement();
-		if (current != ' ' && current != 't' && current != 'T')
-		{
-			document.rewindToPin();
-			return false;
-		}
-
-		LocalTime time = LilacTimes.tryTime(document, decoder);
-		if (time == null)
-		{
-			document.rewindToPin();
-			return false;
-		}
-
-		ZoneOffset offset = LilacTimes.tryOffset(document);
-		if (offset == null)
-		{
-			document.rewindToPin();
-			return false;
-		}
-
 		symbols.push(this);
-		this.value = OffsetDateTime.of(date, time, offset);
+		this.value = dateTime;
 		return true;
 	}
 
@@ -97,4 +72,10 @@ public class TomlOffsetDateTime extends Symbol<OffsetDateTime>
 			case ROOT -> NEXT_SYMBOLS;
 		};
 	}
+
+	@Override
+	public boolean canStartWith(char character)
+	{
+		return character >= '0' && character <= '9';
+	}
 }
@@ -35,7 +35,7 @@ public class TomlTime extends Symbol<LocalTime>
 	@Override
 	public boolean tryParse(Document document, TomlDecoder decoder, Deque<Symbol<?>> symbols) 
 	{
-		LocalTime time = LilacTimes.tryTime(document, decoder);
+		LocalTime time = LilacTimes.tryTemporal(document, decoder, LocalTime.class);
 		if (time == null)
 		{
 			return false;
@@ -72,4 +72,10 @@ public class TomlTime extends Symbol<LocalTime>
 			case ROOT -> NEXT_SYMBOLS;
 		};
 	}
+
+	@Override
+	public boolean canStartWith(char character)
+	{
+		return character >= '0' && character <= '9';
+	}
 }
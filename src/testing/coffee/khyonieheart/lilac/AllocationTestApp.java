@@ -0,0 +1,135 @@
+package coffee.khyonieheart.lilac;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.management.ManagementFactory;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.Map;
+
+public class AllocationTestApp
+{
+	private static final int WARMUP_ITERATIONS = 1_000_000;
+	private static final int MEASURED_ITERATIONS = 1_000_000;
+
+	private static com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+	private static int failed = 0;
+
+	public static void main(
+		String[] args
+	) {
+		if (!threads.isThreadAllocatedMemorySupported())
+		{
+			System.out.println("Thread allocation counters are not supported by this JVM");
+			System.exit(1);
+		}
+		threads.setThreadAllocatedMemoryEnabled(true);
+
+		test("Document pin/rewind", AllocationTestApp::pinAndRewind);
+		test("Timestamp encoding", AllocationTestApp::writeTimestamp);
+		test("Compiled key lookup", AllocationTestApp::readCompiledKey);
+		test("Primitive lookup", AllocationTestApp::readPrimitives);
+
+		if (failed != 0)
+		{
+			System.out.println("\u001B[1;91m" + failed + " allocation test(s) failed\u001B[1;39m");
+			System.exit(1);
+		}
+
+		System.out.println("\u001B[1;92mAll allocation tests passed!\u001B[1;39m");
+	}
+
+	//
+	// Tests
+	//
+
+	private static final Document PIN_DOCUMENT = new Document("x".repeat(200_000));
+	static {
+		// Positions past the Integer cache are the ones that used to box
+		for (int i = 0; i < 100_000; i++)
+		{
+			PIN_DOCUMENT.incrementPointer();
+		}
+	}
+
+	private static void pinAndRewind()
+	{
+		PIN_DOCUMENT.pinPointer();
+		PIN_DOCUMENT.incrementPointer();
+		PIN_DOCUMENT.pinPointer();
+		PIN_DOCUMENT.incrementPointer();
+		PIN_DOCUMENT.removePin();
+		PIN_DOCUMENT.pinPointer();
+		PIN_DOCUMENT.incrementPointer();
+		PIN_DOCUMENT.rewindToPin();
+		PIN_DOCUMENT.getPin();
+		PIN_DOCUMENT.rewindToPin();
+	}
+
+	private static final StringBuilder TIMESTAMP_OUTPUT = new StringBuilder();
+	private static final OffsetDateTime TIMESTAMP = OffsetDateTime.of(2024, 3, 7, 9, 5, 1, 40_500_000, ZoneOffset.ofHoursMinutes(-5, -30));
+
+	private static void writeTimestamp()
+	{
+		TIMESTAMP_OUTPUT.setLength(0);
+		try {
+			LilacTimes.writeOffsetDateTime(TIMESTAMP, TIMESTAMP_OUTPUT);
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	private static final TomlConfiguration CONFIGURATION = new TomlConfiguration(Map.of(
+		"servers", Map.of("eu-west-1", Map.of("ip", "10.0.0.1", "port", 100_000L, "load", 0.75f, "enabled", true))
+	));
+	private static final TomlKey KEY = TomlKey.compile("servers.'eu-west-1'.ip");
+	private static final TomlKey PORT_KEY = TomlKey.compile("servers.'eu-west-1'.port");
+	private static final TomlKey LOAD_KEY = TomlKey.compile("servers.'eu-west-1'.load");
+	private static final TomlKey ENABLED_KEY = TomlKey.compile("servers.'eu-west-1'.enabled");
+
+	private static void readCompiledKey()
+	{
+		CONFIGURATION.getString(KEY);
+	}
+
+	private static void readPrimitives()
+	{
+		CONFIGURATION.getLong(PORT_KEY);
+		CONFIGURATION.getInt(PORT_KEY);
+		CONFIGURATION.getDouble(LOAD_KEY);
+		CONFIGURATION.getFloat(LOAD_KEY);
+		CONFIGURATION.getBoolean(ENABLED_KEY);
+	}
+
+	//
+	// Utility
+	//
+
+	private static void test(
+		String name,
+		Runnable operation
+	) {
+		for (int i = 0; i < WARMUP_ITERATIONS; i++)
+		{
+			operation.run();
+		}
+
+		long threadId = Thread.currentThread().threadId();
+		long before = threads.getThreadAllocatedBytes(threadId);
+		for (int i = 0; i < MEASURED_ITERATIONS; i++)
+		{
+			operation.run();
+		}
+		long allocated = threads.getThreadAllocatedBytes(threadId) - before;
+
+		double perOperation = (double) allocated / MEASURED_ITERATIONS;
+		if (perOperation < 1)
+		{
+			System.out.println("\u001B[1;92mPASS\u001B[1;39m " + name + ": " + allocated + " bytes over " + MEASURED_ITERATIONS + " operations");
+			return;
+		}
+
+		failed++;
+		System.out.println("\u001B[1;91mFAIL\u001B[1;39m " + name + ": " + perOperation + " bytes per operation");
+	}
+}
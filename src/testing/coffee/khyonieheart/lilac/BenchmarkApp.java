@@ -0,0 +1,278 @@
+package coffee.khyonieheart.lilac;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.Objects;
+
+import coffee.khyonieheart.lilac.symbol.Symbol;
+import coffee.khyonieheart.lilac.symbol.SymbolFactory;
+import coffee.khyonieheart.lilac.symbol.TomlStartOfDocument;
+
+public class BenchmarkApp
+{
+	private static final int[] DEFAULT_SIZES_MB = { 1, 10, 100 };
+	private static final int WARMUP_ROUNDS = 3;
+	private static final int MEASURED_ROUNDS = 5;
+	private static final long LARGE_STACK_SIZE = 2048L << 20;
+
+	/**
+	 * Usage:
+	 * <command> [ size in MB... ]
+	 */
+	public static void main(
+		String[] args
+	) {
+		int[] sizes = DEFAULT_SIZES_MB;
+		if (args.length > 0)
+		{
+			sizes = new int[args.length];
+			for (int i = 0; i < args.length; i++)
+			{
+				sizes[i] = Integer.parseInt(args[i]);
+			}
+		}
+
+		for (int size : sizes)
+		{
+			String text = generateDocument(size * 1024 * 1024);
+			System.out.println("##### " + size + " MB document (" + text.length() + " characters) #####");
+
+			benchmarkLexers(text);
+
+			System.out.println("--- Number-heavy document ---");
+			benchmarkDispatch(generateNumberDocument(size * 1024 * 1024));
+
+			System.out.println("--- String-heavy document ---");
+			benchmarkDispatch(generateStringDocument(size * 1024 * 1024));
+		}
+	}
+
+	//
+	// Lexer
+	//
+
+	private static void benchmarkLexers(
+		String text
+	) {
+		LilacDecoder decoder = new LilacDecoder(TomlVersion.V1_0_0);
+
+		Deque<Symbol<?>> iterative = decoder.lex(new Document(text));
+
+		// The recursive lexer overflows the default stack on all but small documents
+		try {
+			Deque<Symbol<?>> recursive = lexRecursive(text);
+			System.out.println("Recursive lexer (default stack): completed");
+			System.out.println("Symbol streams identical: " + symbolsEqual(iterative, recursive) + " (" + iterative.size() + " symbols)");
+		} catch (StackOverflowError e) {
+			System.out.println("Recursive lexer (default stack): StackOverflowError");
+		}
+
+		runWithLargeStack(() -> {
+			try {
+				Deque<Symbol<?>> recursive = lexRecursive(text);
+				System.out.println("Symbol streams identical: " + symbolsEqual(iterative, recursive) + " (" + iterative.size() + " symbols)");
+				System.out.println(String.format("Recursive lexer (%d MB stack): %.2f ms/op", LARGE_STACK_SIZE >> 20, time(() -> lexRecursive(text))));
+			} catch (StackOverflowError e) {
+				System.out.println("Recursive lexer (" + (LARGE_STACK_SIZE >> 20) + " MB stack): StackOverflowError");
+			}
+		});
+
+		System.out.println(String.format("Iterative lexer: %.2f ms/op", time(() -> decoder.lex(new Document(text)))));
+	}
+
+	private static Deque<Symbol<?>> lexRecursive(
+		String text
+	) {
+		TomlDecoder decoder = new LilacDecoder(TomlVersion.V1_0_0);
+
+		Symbol<?> documentStart = new TomlStartOfDocument();
+		Deque<Symbol<?>> symbols = new ArrayDeque<>();
+		symbols.push(documentStart);
+		documentStart.tryParseRecursive(new Document(text), decoder, symbols);
+
+		return symbols;
+	}
+
+	//
+	// First-character dispatch
+	//
+
+	private static void benchmarkDispatch(
+		String text
+	) {
+		LilacDecoder decoder = new LilacDecoder(TomlVersion.V1_0_0);
+
+		System.out.println("Symbol streams identical: " + symbolsEqual(decoder.lex(new Document(text)), lexWithoutDispatch(text)));
+		System.out.println(String.format("Lexer trying every next symbol: %.2f ms/op", time(() -> lexWithoutDispatch(text))));
+		System.out.println(String.format("Lexer with first-character dispatch: %.2f ms/op", time(() -> decoder.lex(new Document(text)))));
+	}
+
+	/**
+	 * Lexes a document by trying every next symbol in order, as the decoder did before first-character dispatch.
+	 */
+	private static Deque<Symbol<?>> lexWithoutDispatch(
+		String text
+	) {
+		TomlDecoder decoder = new LilacDecoder(TomlVersion.V1_0_0);
+		Document document = new Document(text);
+
+		Symbol<?> symbol = new TomlStartOfDocument();
+		Deque<Symbol<?>> symbols = new ArrayDeque<>();
+		symbols.push(symbol);
+
+		while (!document.skipThroughWhitespace(symbols, decoder))
+		{
+			int position = document.getPointer();
+			Symbol<?> nextSymbol = null;
+			for (Class<? extends Symbol<?>> symbolClass : symbol.getNextSymbols(decoder))
+			{
+				Symbol<?> candidate = SymbolFactory.create(symbolClass);
+				if (candidate.tryParse(document, decoder, symbols))
+				{
+					candidate.setPosition(position);
+					nextSymbol = candidate;
+					break;
+				}
+			}
+
+			if (nextSymbol == null)
+			{
+				break;
+			}
+
+			symbol = nextSymbol;
+		}
+
+		return symbols;
+	}
+
+	private static boolean symbolsEqual(
+		Deque<Symbol<?>> a,
+		Deque<Symbol<?>> b
+	) {
+		if (a.size() != b.size())
+		{
+			return false;
+		}
+
+		Iterator<Symbol<?>> iterA = a.iterator();
+		Iterator<Symbol<?>> iterB = b.iterator();
+		while (iterA.hasNext())
+		{
+			Symbol<?> symbolA = iterA.next();
+			Symbol<?> symbolB = iterB.next();
+
+			if (symbolA.getClass() != symbolB.getClass() || symbolA.getPosition() != symbolB.getPosition() || !Objects.equals(symbolA.getValue(), symbolB.getValue()))
+			{
+				return false;
+			}
+		}
+
+		return true;
+	}
+
+	//
+	// Utility
+	//
+
+	private static double time(
+		Runnable task
+	) {
+		for (int i = 0; i < WARMUP_ROUNDS; i++)
+		{
+			task.run();
+		}
+
+		long start = System.nanoTime();
+		for (int i = 0; i < MEASURED_ROUNDS; i++)
+		{
+			task.run();
+		}
+
+		return (System.nanoTime() - start) / 1_000_000.0 / MEASURED_ROUNDS;
+	}
+
+	private static void runWithLargeStack(
+		Runnable task
+	) {
+		Thread thread = new Thread(null, task, "benchmark-large-stack", LARGE_STACK_SIZE);
+		thread.start();
+
+		try {
+			thread.join();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	/**
+	 * Generates a feature-flag style document of roughly the given length.
+	 */
+	private static String generateDocument(
+		int length
+	) {
+		StringBuilder builder = new StringBuilder(length + 256);
+
+		int table = 0;
+		while (builder.length() < length)
+		{
+			builder.append("[flags.feature_").append(table).append("]\n")
+				.append("enabled = ").append(table % 2 == 0).append('\n')
+				.append("rollout = ").append(table % 100).append('\n')
+				.append("weight = ").append(table % 7).append(".25\n")
+				.append("owner = \"team-").append(table % 13).append("\" # Owning team\n")
+				.append("regions = [ 'eu-west-1', 'us-east-1', ").append(table).append(" ]\n")
+				.append("limits = { min = 0, max = ").append(table * 10).append(" }\n")
+				.append("updated = 2025-01-").append(10 + table % 18).append("T12:30:00Z\n\n");
+			table++;
+		}
+
+		return builder.toString();
+	}
+
+	/**
+	 * Generates a document of roughly the given length made up mostly of integer and float arrays.
+	 */
+	private static String generateNumberDocument(
+		int length
+	) {
+		StringBuilder builder = new StringBuilder(length + 256);
+
+		int line = 0;
+		while (builder.length() < length)
+		{
+			builder.append("threshold_").append(line).append(" = [ ")
+				.append(line).append(", ")
+				.append(-line).append(", ")
+				.append(line * 31 % 1000).append(".5, ")
+				.append("0x").append(Integer.toHexString(line)).append(", ")
+				.append(line % 9 + 1).append("_000")
+				.append(" ]\n")
+				.append("ratio_").append(line).append(" = ").append(line % 97).append(".125e-").append(line % 20).append('\n');
+			line++;
+		}
+
+		return builder.toString();
+	}
+
+	/**
+	 * Generates a document of roughly the given length made up mostly of basic and literal strings.
+	 */
+	private static String generateStringDocument(
+		int length
+	) {
+		StringBuilder builder = new StringBuilder(length + 256);
+
+		int line = 0;
+		while (builder.length() < length)
+		{
+			builder.append("message_").append(line).append(" = \"The quick brown fox jumps over the lazy dog ").append(line).append("\"\n")
+				.append("path_").append(line).append(" = 'C:\\Users\\lilac\\").append(line).append("'\n")
+				.append("tags_").append(line).append(" = [ \"alpha\", 'beta', \"gamma\" ]\n");
+			line++;
+		}
+
+		return builder.toString();
+	}
+}
@@ -0,0 +1,69 @@
+package coffee.khyonieheart.lilac;
+
+import java.io.StringReader;
+
+public class StreamTestApp
+{
+	private static final int LINES = 100_000;
+	private static final int CHUNK_SIZE = 4096;
+	private static final int MAXIMUM_BUFFER_SIZE = CHUNK_SIZE * 2;
+
+	private static int failed = 0;
+
+	public static void main(
+		String[] args
+	) {
+		StringBuilder builder = new StringBuilder();
+		for (int i = 0; i < LINES; i++)
+		{
+			builder.append("key").append(i).append(" = \"value ").append(i).append("\" # comment\n");
+		}
+		test("Key/value pairs", builder.toString());
+
+		builder.setLength(0);
+		for (int i = 0; i < LINES; i++)
+		{
+			builder.append("[[table]]\ninteger = ").append(i).append("\nfloat = 1.5e3\ndate = 1979-05-27T07:32:00Z\nkeys.'quoted'.bare = 'literal'\n");
+		}
+		test("Arrays of tables", builder.toString());
+
+		builder.setLength(0);
+		for (int i = 0; i < LINES / 10; i++)
+		{
+			builder.append("[section").append(i).append("]\nsql = \"\"\"\nSELECT *\nFROM t\nWHERE id = ").append(i).append("\n\"\"\"\narray = [ 1, 2.0, \"three\", { four = 4 } ]\n");
+		}
+		test("Multi-line strings and arrays", builder.toString());
+
+		if (failed != 0)
+		{
+			System.out.println("\u001B[1;91m" + failed + " stream test(s) failed\u001B[1;39m");
+			System.exit(1);
+		}
+
+		System.out.println("\u001B[1;92mAll stream tests passed!\u001B[1;39m");
+	}
+
+	//
+	// Utility
+	//
+
+	/**
+	 * Decodes a document from a stream, and checks that the stream's buffer did not grow to hold the document.
+	 */
+	private static void test(
+		String name,
+		String text
+	) {
+		StreamDocument document = new StreamDocument(new StringReader(text), CHUNK_SIZE);
+		new LilacDecoder(TomlVersion.V1_0_0).decode(document);
+
+		if (document.getBufferSize() <= MAXIMUM_BUFFER_SIZE && document.getPinCount() == 0)
+		{
+			System.out.println("\u001B[1;92mPASS\u001B[1;39m " + name + ": " + text.length() + " characters read with a buffer of " + document.getBufferSize());
+			return;
+		}
+
+		failed++;
+		System.out.println("\u001B[1;91mFAIL\u001B[1;39m " + name + ": " + text.length() + " characters read with a buffer of " + document.getBufferSize() + " and " + document.getPinCount() + " pins left");
+	}
+}